@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite with the GC profiler enabled, so that the allocation rate
+ * ({@code gc.alloc.rate.norm}, in bytes per operation) is reported alongside the timing for each
+ * benchmark.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public class BenchmarkRunner {
+
+  private static final String DEFAULT_PATTERN = "edu\\.cnm\\.deepdive\\..*Benchmark";
+
+  /**
+   * Runs all benchmarks (or only those whose names match the first command line argument, if one
+   * is specified) with the GC profiler enabled.
+   *
+   * @param args command line arguments: an optional regular expression selecting benchmarks.
+   * @throws RunnerException if JMH fails to run the benchmarks.
+   */
+  public static void main(String[] args) throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include((args.length > 0) ? args[0] : DEFAULT_PATTERN)
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+
+}
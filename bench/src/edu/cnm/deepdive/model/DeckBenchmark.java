@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks construction, shuffling, dealing, and sorting of a single {@link Deck}.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+  @Param({"Random", "SecureRandom", "ThreadLocalRandom", "SplittableRandom", "L64X128MixRandom"})
+  private String rngType;
+
+  private RandomGenerator rng;
+  private Deck deck;
+
+  @Setup
+  public void setup() {
+    switch (rngType) {
+      case "SecureRandom":
+        rng = new SecureRandom();
+        break;
+      case "ThreadLocalRandom":
+        rng = ThreadLocalRandom.current();
+        break;
+      case "SplittableRandom":
+        rng = new SplittableRandom();
+        break;
+      case "L64X128MixRandom":
+        rng = RandomSources.simulation();
+        break;
+      default:
+        rng = new Random();
+        break;
+    }
+    deck = new Deck();
+    deck.shuffle(rng);
+  }
+
+  @Benchmark
+  public Deck construct() {
+    return new Deck();
+  }
+
+  @Benchmark
+  public Deck shuffle() {
+    deck.shuffle(rng);
+    return deck;
+  }
+
+  @Benchmark
+  public void deal(Blackhole blackhole) {
+    deck.gather();
+    for (Card card = deck.draw(); card != null; card = deck.draw()) {
+      blackhole.consume(card);
+    }
+  }
+
+  @Benchmark
+  public Deck sort() {
+    deck.shuffle(rng);
+    deck.sort();
+    return deck;
+  }
+
+}
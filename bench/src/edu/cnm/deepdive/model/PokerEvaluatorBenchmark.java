@@ -0,0 +1,73 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link PokerEvaluator} over a fixed set of random 5- and 7-card hands.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PokerEvaluatorBenchmark {
+
+  private static final int HANDS = 1 << 12;
+
+  @Param({"5", "7"})
+  private int handSize;
+
+  private long[] hands;
+
+  @Setup
+  public void setup() {
+    Deck deck = new Deck();
+    deck.setRng(RandomSources.simulation(handSize));
+    hands = new long[HANDS];
+    for (int i = 0; i < HANDS; i++) {
+      deck.shuffle();
+      hands[i] = CardSet.of(deck.draw(handSize)).bits();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public int evaluate() {
+    int sum = 0;
+    for (long hand : hands) {
+      sum += PokerEvaluator.evaluate(hand);
+    }
+    return sum;
+  }
+
+}
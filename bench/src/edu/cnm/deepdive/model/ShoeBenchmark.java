@@ -0,0 +1,124 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks building, dealing from, and reshuffling multi-deck {@link Shoe} instances, and the
+ * cost of disabled instrumentation (journal, metrics, and flight recorder events) on bulk draws.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShoeBenchmark {
+
+  private static final int RESHUFFLE_TRIGGER = 52;
+
+  @Param({"1", "6", "8"})
+  private int deckCount;
+
+  @Param({"false", "true"})
+  private boolean lazyShuffle;
+
+  private List<Deck> decks;
+  private RandomGenerator rng;
+  private Shoe shoe;
+  private byte[] buffer;
+
+  @Setup
+  public void setup() {
+    decks = new ArrayList<>();
+    for (int i = 0; i < deckCount; i++) {
+      decks.add(new Deck());
+    }
+    rng = RandomSources.simulation();
+    shoe = new Shoe.Builder(decks)
+        .randomSource(rng)
+        .reshuffleTrigger(RESHUFFLE_TRIGGER)
+        .lazyShuffle(lazyShuffle)
+        .shuffleOnCreate()
+        .build();
+    buffer = new byte[shoe.size()];
+  }
+
+  @Benchmark
+  public Shoe build() {
+    return new Shoe.Builder(decks)
+        .randomSource(rng)
+        .reshuffleTrigger(RESHUFFLE_TRIGGER)
+        .lazyShuffle(lazyShuffle)
+        .shuffleOnCreate()
+        .build();
+  }
+
+  @Benchmark
+  public void deal(Blackhole blackhole) {
+    shoe.gather();
+    for (Card card = shoe.draw(); card != null; card = shoe.draw()) {
+      blackhole.consume(card);
+    }
+  }
+
+  /**
+   * Bulk draw through {@link Stock#drawOrdinals(byte[], int, int)}, with no journal or metrics
+   * attached and no flight recording running, so that the only instrumentation cost is that of the
+   * disabled checks (compare with {@link #drawOrdinalsBaseline()}). Run with the GC profiler (see
+   * {@code BenchmarkRunner}) to confirm that no event objects are allocated.
+   */
+  @Benchmark
+  public int drawOrdinals() {
+    shoe.restore();
+    return shoe.drawOrdinals(buffer, 0, buffer.length);
+  }
+
+  /**
+   * Bulk draw directly from the underlying {@link Pile}, bypassing all instrumentation.
+   */
+  @Benchmark
+  public int drawOrdinalsBaseline() {
+    shoe.restore();
+    return shoe.removeOrdinals(buffer, 0, buffer.length);
+  }
+
+  @Benchmark
+  public Shoe start() {
+    shoe.drawOrdinals(buffer, 0, Math.max(shoe.size() - RESHUFFLE_TRIGGER, 0));
+    shoe.start();
+    return shoe;
+  }
+
+}
@@ -0,0 +1,175 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.blackjack;
+
+/**
+ * Table-driven multi-deck basic strategy (without surrender or insurance), adjusted for whether
+ * the dealer hits soft 17, and whether doubling after splitting is allowed. Decisions are read
+ * from tables indexed by the player's total (or pair card value) and the dealer's up-card value,
+ * so no allocation or branching on the rules is needed when a decision is made.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+final class BasicStrategy {
+
+  private static final int MAX_TOTAL = 21;
+  private static final int UP_CARDS = 10;
+  private static final int ACE = 1;
+  private static final int TEN = 10;
+
+  // Columns: dealer up card 2, 3, 4, 5, 6, 7, 8, 9, 10, A.
+  // H = hit; S = stand; D = double, otherwise hit; T = double, otherwise stand; P = split.
+  private static final String[] HARD = {
+      /* 4-8 */ "HHHHHHHHHH", "HHHHHHHHHH", "HHHHHHHHHH", "HHHHHHHHHH", "HHHHHHHHHH",
+      /*  9  */ "HDDDDHHHHH",
+      /* 10  */ "DDDDDDDDHH",
+      /* 11  */ "DDDDDDDDDH",
+      /* 12  */ "HHSSSHHHHH",
+      /* 13  */ "SSSSSHHHHH",
+      /* 14  */ "SSSSSHHHHH",
+      /* 15  */ "SSSSSHHHHH",
+      /* 16  */ "SSSSSHHHHH",
+      /* 17+ */ "SSSSSSSSSS", "SSSSSSSSSS", "SSSSSSSSSS", "SSSSSSSSSS", "SSSSSSSSSS",
+  };
+  private static final String[] SOFT = {
+      /* 12  */ "HHHHHHHHHH",
+      /* 13  */ "HHHDDHHHHH",
+      /* 14  */ "HHHDDHHHHH",
+      /* 15  */ "HHDDDHHHHH",
+      /* 16  */ "HHDDDHHHHH",
+      /* 17  */ "HDDDDHHHHH",
+      /* 18  */ "STTTTSSHHH",
+      /* 19+ */ "SSSSSSSSSS", "SSSSSSSSSS", "SSSSSSSSSS",
+  };
+  private static final String[] PAIRS_DOUBLE_AFTER_SPLIT = {
+      /* A */ "PPPPPPPPPP",
+      /* 2 */ "PPPPPPHHHH",
+      /* 3 */ "PPPPPPHHHH",
+      /* 4 */ "HHHPPHHHHH",
+      /* 5 */ "HHHHHHHHHH",
+      /* 6 */ "PPPPPHHHHH",
+      /* 7 */ "PPPPPPHHHH",
+      /* 8 */ "PPPPPPPPPP",
+      /* 9 */ "PPPPPSPPSS",
+      /* T */ "SSSSSSSSSS",
+  };
+  private static final String[] PAIRS_NO_DOUBLE_AFTER_SPLIT = {
+      /* A */ "PPPPPPPPPP",
+      /* 2 */ "HHPPPPHHHH",
+      /* 3 */ "HHPPPPHHHH",
+      /* 4 */ "HHHHHHHHHH",
+      /* 5 */ "HHHHHHHHHH",
+      /* 6 */ "HPPPPHHHHH",
+      /* 7 */ "PPPPPPHHHH",
+      /* 8 */ "PPPPPPPPPP",
+      /* 9 */ "PPPPPSPPSS",
+      /* T */ "SSSSSSSSSS",
+  };
+
+  private final Action[][] hard = new Action[MAX_TOTAL + 1][];
+  private final Action[][] soft = new Action[MAX_TOTAL + 1][];
+  private final boolean[][] split = new boolean[TEN + 1][];
+
+  /**
+   * Initializes the strategy tables for the specified rules.
+   *
+   * @param rules table rules.
+   */
+  BasicStrategy(BlackjackRules rules) {
+    for (int total = 4; total <= MAX_TOTAL; total++) {
+      hard[total] = parse(HARD[total - 4]);
+    }
+    for (int total = 12; total <= MAX_TOTAL; total++) {
+      soft[total] = parse(SOFT[total - 12]);
+    }
+    String[] pairs =
+        rules.isDoubleAfterSplit() ? PAIRS_DOUBLE_AFTER_SPLIT : PAIRS_NO_DOUBLE_AFTER_SPLIT;
+    for (int value = ACE; value <= TEN; value++) {
+      String row = pairs[value - ACE];
+      split[value] = new boolean[UP_CARDS];
+      for (int column = 0; column < UP_CARDS; column++) {
+        split[value][column] = row.charAt(column) == 'P';
+      }
+    }
+    if (rules.isDealerHitsSoft17()) {
+      hard[11][column(ACE)] = Action.DOUBLE;
+      soft[18][column(2)] = Action.DOUBLE_OR_STAND;
+      soft[19][column(6)] = Action.DOUBLE_OR_STAND;
+    }
+  }
+
+  /**
+   * Returns {@code true} if a pair of cards of the specified value should be split against the
+   * specified dealer up card.
+   *
+   * @param pairValue value of each card in the pair (1 for an ace).
+   * @param upValue value of the dealer's up card (1 for an ace).
+   */
+  boolean split(int pairValue, int upValue) {
+    return split[pairValue][column(upValue)];
+  }
+
+  /**
+   * Returns the play for a hand with the specified total against the specified dealer up card.
+   *
+   * @param total best total of the hand (counting an ace as 11 if possible without busting).
+   * @param isSoft flag indicating whether {@code total} counts an ace as 11.
+   * @param upValue value of the dealer's up card (1 for an ace).
+   */
+  Action play(int total, boolean isSoft, int upValue) {
+    return (isSoft ? soft : hard)[total][column(upValue)];
+  }
+
+  private static int column(int upValue) {
+    return (upValue == ACE) ? UP_CARDS - 1 : upValue - 2;
+  }
+
+  private static Action[] parse(String row) {
+    Action[] actions = new Action[UP_CARDS];
+    for (int column = 0; column < UP_CARDS; column++) {
+      switch (row.charAt(column)) {
+        case 'S':
+          actions[column] = Action.STAND;
+          break;
+        case 'D':
+          actions[column] = Action.DOUBLE;
+          break;
+        case 'T':
+          actions[column] = Action.DOUBLE_OR_STAND;
+          break;
+        default:
+          actions[column] = Action.HIT;
+          break;
+      }
+    }
+    return actions;
+  }
+
+  /**
+   * Plays available to a hand that is not split.
+   */
+  enum Action {
+    /** Draw a card. */
+    HIT,
+    /** Draw no more cards. */
+    STAND,
+    /** Double the bet and draw exactly 1 more card, if allowed; otherwise, hit. */
+    DOUBLE,
+    /** Double the bet and draw exactly 1 more card, if allowed; otherwise, stand. */
+    DOUBLE_OR_STAND
+  }
+
+}
@@ -0,0 +1,260 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.blackjack;
+
+/**
+ * Encapsulates the table rules of a blackjack game. Instances are immutable, and are created using
+ * the <em>builder pattern</em> (see {@link Builder}); the defaults are those of a common 6-deck
+ * game, in which the dealer stands on soft 17, peeks for blackjack, and pays blackjack at 3:2,
+ * and the player may double on any 2 cards (including after splitting), and split to as many as 4
+ * hands, but may split aces only once, and receives only 1 card on each split ace.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class BlackjackRules {
+
+  private final int decks;
+  private final double penetration;
+  private final boolean continuousShuffle;
+  private final boolean dealerHitsSoft17;
+  private final double blackjackPayout;
+  private final boolean doubleAfterSplit;
+  private final int maxHands;
+  private final boolean resplitAces;
+  private final boolean hitSplitAces;
+
+  private BlackjackRules(Builder builder) {
+    decks = builder.decks;
+    penetration = builder.penetration;
+    continuousShuffle = builder.continuousShuffle;
+    dealerHitsSoft17 = builder.dealerHitsSoft17;
+    blackjackPayout = builder.blackjackPayout;
+    doubleAfterSplit = builder.doubleAfterSplit;
+    maxHands = builder.maxHands;
+    resplitAces = builder.resplitAces;
+    hitSplitAces = builder.hitSplitAces;
+  }
+
+  /**
+   * Returns the number of decks in the shoe.
+   */
+  public int getDecks() {
+    return decks;
+  }
+
+  /**
+   * Returns the fraction of the shoe dealt before the cut card is reached, and the shoe is
+   * reshuffled.
+   */
+  public double getPenetration() {
+    return penetration;
+  }
+
+  /**
+   * Returns a flag indicating whether the shoe is a continuous shuffling machine, into which the
+   * cards from each round are returned before the next; if so, the penetration is ignored.
+   */
+  public boolean isContinuousShuffle() {
+    return continuousShuffle;
+  }
+
+  /**
+   * Returns a flag indicating whether the dealer hits (rather than stands on) soft 17.
+   */
+  public boolean isDealerHitsSoft17() {
+    return dealerHitsSoft17;
+  }
+
+  /**
+   * Returns the amount paid for a player blackjack, as a multiple of the bet.
+   */
+  public double getBlackjackPayout() {
+    return blackjackPayout;
+  }
+
+  /**
+   * Returns a flag indicating whether the player may double down after splitting.
+   */
+  public boolean isDoubleAfterSplit() {
+    return doubleAfterSplit;
+  }
+
+  /**
+   * Returns the maximum number of hands that the player may hold as a result of splitting.
+   */
+  public int getMaxHands() {
+    return maxHands;
+  }
+
+  /**
+   * Returns a flag indicating whether the player may split aces again after splitting aces.
+   */
+  public boolean isResplitAces() {
+    return resplitAces;
+  }
+
+  /**
+   * Returns a flag indicating whether the player may draw more than 1 card to each split ace.
+   */
+  public boolean isHitSplitAces() {
+    return hitSplitAces;
+  }
+
+  /**
+   * Returns the reshuffle trigger point (i.e. the position of the cut card, counted from the end of
+   * the shoe) corresponding to the number of decks and the penetration.
+   *
+   * @param capacity total number of cards in the shoe.
+   * @return number of cards remaining at which the shoe is reshuffled.
+   */
+  public int reshuffleTrigger(int capacity) {
+    return (int) Math.round(capacity * (1 - penetration));
+  }
+
+  /**
+   * Implements the <em>builder pattern</em> for the creation of {@link BlackjackRules} instances.
+   */
+  public static class Builder {
+
+    private static final String BAD_DECKS = "Number of decks must be positive.";
+    private static final String BAD_PENETRATION = "Penetration must be greater than 0 and less than 1.";
+    private static final String BAD_PAYOUT = "Blackjack payout must be non-negative.";
+    private static final String BAD_MAX_HANDS = "Maximum number of hands must be positive.";
+
+    private int decks = 6;
+    private double penetration = 0.75;
+    private boolean continuousShuffle;
+    private boolean dealerHitsSoft17;
+    private double blackjackPayout = 1.5;
+    private boolean doubleAfterSplit = true;
+    private int maxHands = 4;
+    private boolean resplitAces;
+    private boolean hitSplitAces;
+
+    /**
+     * Sets the number of decks in the shoe.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder decks(int decks) {
+      if (decks <= 0) {
+        throw new IllegalArgumentException(BAD_DECKS);
+      }
+      this.decks = decks;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of the shoe dealt before reshuffling.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder penetration(double penetration) {
+      if (!(penetration > 0 && penetration < 1)) {
+        throw new IllegalArgumentException(BAD_PENETRATION);
+      }
+      this.penetration = penetration;
+      return this;
+    }
+
+    /**
+     * Specifies whether the shoe is a continuous shuffling machine.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder continuousShuffle(boolean continuousShuffle) {
+      this.continuousShuffle = continuousShuffle;
+      return this;
+    }
+
+    /**
+     * Specifies whether the dealer hits soft 17.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder dealerHitsSoft17(boolean dealerHitsSoft17) {
+      this.dealerHitsSoft17 = dealerHitsSoft17;
+      return this;
+    }
+
+    /**
+     * Sets the amount paid for a player blackjack, as a multiple of the bet (e.g. 1.5 for 3:2, or
+     * 1.2 for 6:5).
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder blackjackPayout(double blackjackPayout) {
+      if (!(blackjackPayout >= 0)) {
+        throw new IllegalArgumentException(BAD_PAYOUT);
+      }
+      this.blackjackPayout = blackjackPayout;
+      return this;
+    }
+
+    /**
+     * Specifies whether the player may double down after splitting.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder doubleAfterSplit(boolean doubleAfterSplit) {
+      this.doubleAfterSplit = doubleAfterSplit;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of hands the player may hold as a result of splitting; a value of 1
+     * prohibits splitting.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder maxHands(int maxHands) {
+      if (maxHands <= 0) {
+        throw new IllegalArgumentException(BAD_MAX_HANDS);
+      }
+      this.maxHands = maxHands;
+      return this;
+    }
+
+    /**
+     * Specifies whether the player may split aces again after splitting aces.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder resplitAces(boolean resplitAces) {
+      this.resplitAces = resplitAces;
+      return this;
+    }
+
+    /**
+     * Specifies whether the player may draw more than 1 card to each split ace.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder hitSplitAces(boolean hitSplitAces) {
+      this.hitSplitAces = hitSplitAces;
+      return this;
+    }
+
+    /**
+     * Constructs and returns an instance of {@link BlackjackRules}.
+     */
+    public BlackjackRules build() {
+      return new BlackjackRules(this);
+    }
+
+  }
+
+}
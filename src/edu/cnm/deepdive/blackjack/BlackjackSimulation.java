@@ -0,0 +1,418 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.blackjack;
+
+import edu.cnm.deepdive.blackjack.BasicStrategy.Action;
+import edu.cnm.deepdive.model.Blocks;
+import edu.cnm.deepdive.model.Card;
+import edu.cnm.deepdive.model.Deck;
+import edu.cnm.deepdive.model.RandomSources;
+import edu.cnm.deepdive.model.Shoe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Plays rounds of blackjack&mdash;a single player, betting 1 unit per round and playing {@link
+ * BasicStrategy basic strategy}, against the dealer&mdash;repeatedly, in parallel, and aggregates
+ * the results into a {@link Summary}, from which the house edge and its confidence interval are
+ * obtained.
+ *
+ * <p>As in {@link edu.cnm.deepdive.controller.TrickSimulation}, the rounds are divided into blocks
+ * of a fixed size (see {@link Blocks}), which are processed in parallel on the common fork/join
+ * pool, by workers that share no mutable state; a simulation with a seeded root generator thus
+ * produces the same results on every host. Each worker has its own {@link Shoe}, with a reshuffle
+ * trigger (i.e. cut card) set from the penetration specified in the {@link BlackjackRules}, and
+ * its own source of randomness, split from a single root generator. Hand totals are updated
+ * incrementally as each card is drawn, and the state of the player's hands is held in preallocated
+ * arrays, so that playing a round allocates nothing.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public class BlackjackSimulation {
+
+  private static final String BAD_ROUNDS = "Number of rounds must be non-negative.";
+  private static final int BLOCK_SIZE = 10_000;
+  private static final int ACE = 1;
+  private static final int BLACKJACK = 21;
+  private static final int SOFT_BONUS = 10;
+  private static final int DEALER_STANDS = 17;
+  private static final int[] values = new int[Card.COUNT];
+
+  static {
+    for (int ordinal = 0; ordinal < Card.COUNT; ordinal++) {
+      values[ordinal] = Math.min(Card.of(ordinal).getRank().ordinal() + 1, 10);
+    }
+  }
+
+  private final long rounds;
+  private final BlackjackRules rules;
+  private final SplittableGenerator rng;
+
+  /**
+   * Initializes the simulation with the specified number of rounds, table rules, and root source of
+   * randomness, from which each worker's source is split.
+   *
+   * @param rounds number of rounds to play.
+   * @param rules table rules.
+   * @param rng root source of randomness.
+   * @throws IllegalArgumentException if {@code rounds} is negative.
+   */
+  public BlackjackSimulation(long rounds, BlackjackRules rules, SplittableGenerator rng) {
+    if (rounds < 0) {
+      throw new IllegalArgumentException(BAD_ROUNDS);
+    }
+    this.rounds = rounds;
+    this.rules = rules;
+    this.rng = rng;
+  }
+
+  /**
+   * Initializes the simulation with the specified number of rounds, table rules, and a randomly
+   * seeded simulation source of randomness (see {@link RandomSources#simulation()}).
+   *
+   * @param rounds number of rounds to play.
+   * @param rules table rules.
+   * @throws IllegalArgumentException if {@code rounds} is negative.
+   */
+  public BlackjackSimulation(long rounds, BlackjackRules rules) {
+    this(rounds, rules, RandomSources.simulation());
+  }
+
+  /**
+   * Plays the specified number of rounds with the default {@link BlackjackRules}, and displays the
+   * summary of results.
+   *
+   * @param args command line arguments: an optional number of rounds (default 10,000,000).
+   */
+  public static void main(String[] args) {
+    long rounds = (args.length > 0) ? Long.parseLong(args[0]) : 10_000_000;
+    Summary summary = new BlackjackSimulation(rounds, new BlackjackRules.Builder().build()).run();
+    System.out.println(summary);
+  }
+
+  /**
+   * Plays all rounds, in parallel, and returns the aggregated results.
+   *
+   * @return summary of results.
+   */
+  public Summary run() {
+    BasicStrategy strategy = new BasicStrategy(rules);
+    return Blocks.reduce(rounds, BLOCK_SIZE, rng, new Summary(),
+        (count, blockRng) -> new Worker(rules, strategy, blockRng).run(count), Summary::merge);
+  }
+
+  private static class Worker {
+
+    private final BlackjackRules rules;
+    private final BasicStrategy strategy;
+    private final Shoe shoe;
+    private final Summary summary;
+    private final int[] hardTotals;
+    private final boolean[] aces;
+    private final int[] cardCounts;
+    private final int[] firstValues;
+    private final int[] bets;
+    private final boolean[] split;
+    private int handCount;
+    private int inPlay;
+    private int dealerTotal;
+    private boolean dealerAce;
+
+    Worker(BlackjackRules rules, BasicStrategy strategy, RandomGenerator rng) {
+      this.rules = rules;
+      this.strategy = strategy;
+      List<Deck> decks = new ArrayList<>();
+      for (int i = 0; i < rules.getDecks(); i++) {
+        decks.add(new Deck());
+      }
+      shoe = new Shoe.Builder(decks)
+          .randomSource(rng)
+          .reshuffleTrigger(rules.reshuffleTrigger(decks.size() * Card.COUNT))
+          .continuousShuffle(rules.isContinuousShuffle())
+          .shuffleOnCreate()
+          .build();
+      summary = new Summary();
+      int maxHands = rules.getMaxHands();
+      hardTotals = new int[maxHands];
+      aces = new boolean[maxHands];
+      cardCounts = new int[maxHands];
+      firstValues = new int[maxHands];
+      bets = new int[maxHands];
+      split = new boolean[maxHands];
+    }
+
+    Summary run(long rounds) {
+      for (long i = 0; i < rounds; i++) {
+        playRound();
+      }
+      return summary;
+    }
+
+    private void playRound() {
+      shoe.start();
+      inPlay = 0;
+      handCount = 1;
+      reset(0, draw(), 1, false);
+      int upValue = draw();
+      dealerTotal = upValue;
+      dealerAce = upValue == ACE;
+      hit(0);
+      dealerHit();
+      boolean playerBlackjack = total(0) == BLACKJACK;
+      boolean dealerBlackjack = dealerTotal() == BLACKJACK;
+      if (dealerBlackjack) {
+        summary.record(1, 1, playerBlackjack ? 0 : -1);
+      } else if (playerBlackjack) {
+        summary.record(1, 1, rules.getBlackjackPayout());
+      } else {
+        for (int hand = 0; hand < handCount; hand++) {
+          play(hand, upValue);
+        }
+        settle();
+      }
+    }
+
+    private void play(int hand, int upValue) {
+      while (true) {
+        if (cardCounts[hand] < 2) {
+          hit(hand);
+        }
+        int total = total(hand);
+        if (total >= BLACKJACK) {
+          break;
+        }
+        if (cardCounts[hand] == 2 && firstValues[hand] == hardTotals[hand] - firstValues[hand]
+            && canSplit(hand) && strategy.split(firstValues[hand], upValue)) {
+          int value = firstValues[hand];
+          reset(handCount++, value, bets[hand], true);
+          reset(hand, value, bets[hand], true);
+          continue;
+        }
+        if (split[hand] && firstValues[hand] == ACE && !rules.isHitSplitAces()) {
+          break;
+        }
+        Action action = strategy.play(total, isSoft(hand), upValue);
+        boolean canDouble = cardCounts[hand] == 2 && (!split[hand] || rules.isDoubleAfterSplit());
+        if (action == Action.STAND || (action == Action.DOUBLE_OR_STAND && !canDouble)) {
+          break;
+        }
+        if (action != Action.HIT && canDouble) {
+          bets[hand] *= 2;
+          hit(hand);
+          break;
+        }
+        hit(hand);
+      }
+    }
+
+    private boolean canSplit(int hand) {
+      return handCount < hardTotals.length
+          && (firstValues[hand] != ACE || !split[hand] || rules.isResplitAces());
+    }
+
+    private void settle() {
+      boolean live = false;
+      for (int hand = 0; hand < handCount; hand++) {
+        live |= total(hand) <= BLACKJACK;
+      }
+      if (live) {
+        int total;
+        while ((total = dealerTotal()) < DEALER_STANDS
+            || (total == DEALER_STANDS && rules.isDealerHitsSoft17() && dealerSoft())) {
+          dealerHit();
+        }
+      }
+      int dealer = dealerTotal();
+      int wagered = 0;
+      int net = 0;
+      for (int hand = 0; hand < handCount; hand++) {
+        int total = total(hand);
+        int bet = bets[hand];
+        wagered += bet;
+        if (total > BLACKJACK || (dealer <= BLACKJACK && total < dealer)) {
+          net -= bet;
+        } else if (dealer > BLACKJACK || total > dealer) {
+          net += bet;
+        }
+      }
+      summary.record(handCount, wagered, net);
+    }
+
+    private void reset(int hand, int value, int bet, boolean isSplit) {
+      hardTotals[hand] = value;
+      aces[hand] = value == ACE;
+      cardCounts[hand] = 1;
+      firstValues[hand] = value;
+      bets[hand] = bet;
+      split[hand] = isSplit;
+    }
+
+    private int draw() {
+      Card card = shoe.draw();
+      if (card == null) {
+        // Only reachable when the cut card is placed so deep that a round exhausts the shoe; as at
+        // a real table, the discards of previous rounds (but not the cards still on the table) are
+        // then reshuffled to complete the round.
+        shoe.reshuffleDiscards(inPlay);
+        card = shoe.draw();
+      }
+      inPlay++;
+      return values[card.ordinal()];
+    }
+
+    private void hit(int hand) {
+      int value = draw();
+      hardTotals[hand] += value;
+      aces[hand] |= value == ACE;
+      cardCounts[hand]++;
+    }
+
+    private void dealerHit() {
+      int value = draw();
+      dealerTotal += value;
+      dealerAce |= value == ACE;
+    }
+
+    private boolean isSoft(int hand) {
+      return aces[hand] && hardTotals[hand] + SOFT_BONUS <= BLACKJACK;
+    }
+
+    private int total(int hand) {
+      return isSoft(hand) ? hardTotals[hand] + SOFT_BONUS : hardTotals[hand];
+    }
+
+    private boolean dealerSoft() {
+      return dealerAce && dealerTotal + SOFT_BONUS <= BLACKJACK;
+    }
+
+    private int dealerTotal() {
+      return dealerSoft() ? dealerTotal + SOFT_BONUS : dealerTotal;
+    }
+
+  }
+
+  /**
+   * Aggregated results of multiple rounds of blackjack. The net result of each round is measured in
+   * units of the initial bet; the house edge is the negated mean of the net results.
+   */
+  public static class Summary {
+
+    private static final double Z_95 = 1.959964;
+
+    private long rounds;
+    private long hands;
+    private long wagered;
+    private double net;
+    private double netSquares;
+
+    Summary() {
+    }
+
+    void record(int hands, int wagered, double net) {
+      rounds++;
+      this.hands += hands;
+      this.wagered += wagered;
+      this.net += net;
+      netSquares += net * net;
+    }
+
+    Summary merge(Summary other) {
+      Summary merged = new Summary();
+      merged.rounds = rounds + other.rounds;
+      merged.hands = hands + other.hands;
+      merged.wagered = wagered + other.wagered;
+      merged.net = net + other.net;
+      merged.netSquares = netSquares + other.netSquares;
+      return merged;
+    }
+
+    /**
+     * Returns the number of rounds played.
+     */
+    public long getRounds() {
+      return rounds;
+    }
+
+    /**
+     * Returns the number of player hands played, including those resulting from splits.
+     */
+    public long getHands() {
+      return hands;
+    }
+
+    /**
+     * Returns the total amount wagered, in units of the initial bet, including the additional
+     * amounts wagered on doubles and splits.
+     */
+    public long getWagered() {
+      return wagered;
+    }
+
+    /**
+     * Returns the player's total net result, in units of the initial bet.
+     */
+    public double getNet() {
+      return net;
+    }
+
+    /**
+     * Returns the house edge: the player's expected loss per round, as a fraction of the initial
+     * bet.
+     */
+    public double getHouseEdge() {
+      return (rounds > 0) ? -net / rounds : Double.NaN;
+    }
+
+    /**
+     * Returns the standard error of the house edge.
+     */
+    public double getStandardError() {
+      if (rounds < 2) {
+        return Double.NaN;
+      }
+      double mean = net / rounds;
+      double variance = (netSquares - rounds * mean * mean) / (rounds - 1);
+      return Math.sqrt(Math.max(variance, 0) / rounds);
+    }
+
+    /**
+     * Returns the lower bound of the 95% confidence interval of the house edge.
+     */
+    public double getHouseEdgeLowerBound() {
+      return getHouseEdge() - Z_95 * getStandardError();
+    }
+
+    /**
+     * Returns the upper bound of the 95% confidence interval of the house edge.
+     */
+    public double getHouseEdgeUpperBound() {
+      return getHouseEdge() + Z_95 * getStandardError();
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "Rounds: %,d. Hands: %,d. Wagered: %,d. Net: %,.1f. "
+              + "House edge: %.4f%% (95%% CI %.4f%% to %.4f%%).",
+          rounds, hands, wagered, net, 100 * getHouseEdge(), 100 * getHouseEdgeLowerBound(),
+          100 * getHouseEdgeUpperBound());
+    }
+
+  }
+
+}
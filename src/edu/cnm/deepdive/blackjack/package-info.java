@@ -0,0 +1,5 @@
+/**
+ * Package containing a blackjack simulation engine, which plays basic strategy against a dealer,
+ * using multi-deck {@link edu.cnm.deepdive.model.Shoe} instances, and estimates the house edge.
+ */
+package edu.cnm.deepdive.blackjack;
@@ -21,7 +21,7 @@ import edu.cnm.deepdive.model.Suit.Color;
 import java.security.SecureRandom;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a simple card trick that illustrates a mathematical invariant property of certain
@@ -83,21 +83,30 @@ public class Trick {
   private Deck deck;
   private List<Card> redPile;
   private List<Card> blackPile;
-  private Random rng = new SecureRandom();
+  private RandomGenerator rng = new SecureRandom();
 
   /**
    * Creates an instance of {@link Deck}, shuffles it, and then executes the card trick described
    * above. On completion, the contents of each of the 2 piles is displayed, along with the count of
    * actual red cards in the red pile, and the count of actual black cards in the black pile.
    *
-   * @param args command line arguments (ignored).
+   * <p>Alternatively, if a number of iterations is specified on the command line, the trick is
+   * performed that many times, in parallel (see {@link TrickSimulation}), and a summary of the
+   * results is displayed.</p>
+   *
+   * @param args command line arguments: an optional number of iterations to simulate.
    */
   public static void main(String[] args) {
-    Trick trick = new Trick();
-    trick.prepare();
-    trick.split();
-    trick.swap();
-    trick.report();
+    if (args.length > 0) {
+      TrickSimulation.Summary summary = new TrickSimulation(Long.parseLong(args[0])).run();
+      System.out.println(summary);
+    } else {
+      Trick trick = new Trick();
+      trick.prepare();
+      trick.split();
+      trick.swap();
+      trick.report();
+    }
   }
 
   private void prepare() {
@@ -0,0 +1,265 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.controller;
+
+import edu.cnm.deepdive.model.Blocks;
+import edu.cnm.deepdive.model.Card;
+import edu.cnm.deepdive.model.CardSet;
+import edu.cnm.deepdive.model.Deck;
+import edu.cnm.deepdive.model.RandomSources;
+import edu.cnm.deepdive.model.Suit.Color;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Runs the card trick implemented by {@link Trick} repeatedly, in parallel, aggregating the
+ * results into a {@link Summary} rather than displaying the piles produced by each run.
+ *
+ * <p>The iterations are divided into blocks of a fixed size (see {@link Blocks}), which are
+ * processed in parallel on the common fork/join pool. Each block is processed by a worker with its
+ * own {@link Deck}, pile buffers, and source of randomness (split from a single root generator), so
+ * that the per-iteration path allocates nothing, and blocks share no mutable state until their
+ * tallies are merged, in block order. Since the block size does not depend on the number of
+ * processors, a simulation with a seeded root generator produces the same results on every
+ * host.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public class TrickSimulation {
+
+  private static final String BAD_ITERATIONS = "Number of iterations must be non-negative.";
+  private static final int BLOCK_SIZE = 1_000;
+  private static final int PILE_CAPACITY = Card.COUNT / 2;
+  private static final long RED_MASK = CardSet.of(Color.RED).bits();
+
+  private final long iterations;
+  private final SplittableGenerator rng;
+
+  /**
+   * Initializes the simulation with the specified number of iterations, and a root source of
+   * randomness from which each worker's source is split.
+   *
+   * @param iterations number of times to perform the trick.
+   * @param rng root source of randomness.
+   * @throws IllegalArgumentException if {@code iterations} is negative.
+   */
+  public TrickSimulation(long iterations, SplittableGenerator rng) {
+    if (iterations < 0) {
+      throw new IllegalArgumentException(BAD_ITERATIONS);
+    }
+    this.iterations = iterations;
+    this.rng = rng;
+  }
+
+  /**
+   * Initializes the simulation with the specified number of iterations, and a randomly seeded
+   * simulation source of randomness (see {@link RandomSources#simulation()}).
+   *
+   * @param iterations number of times to perform the trick.
+   * @throws IllegalArgumentException if {@code iterations} is negative.
+   */
+  public TrickSimulation(long iterations) {
+    this(iterations, RandomSources.simulation());
+  }
+
+  /**
+   * Performs all iterations of the trick, in parallel, and returns the aggregated results.
+   *
+   * @return summary of results.
+   */
+  public Summary run() {
+    return Blocks.reduce(iterations, BLOCK_SIZE, rng, new Summary(),
+        (count, blockRng) -> new Worker(blockRng).run(count), Summary::merge);
+  }
+
+  private static boolean isRed(byte ordinal) {
+    return ((RED_MASK >>> ordinal) & 1) != 0;
+  }
+
+  private static class Worker {
+
+    private final RandomGenerator rng;
+    private final Deck deck;
+    private final byte[] dealt;
+    private final byte[] redPile;
+    private final byte[] blackPile;
+    private final Summary summary;
+
+    Worker(RandomGenerator rng) {
+      this.rng = rng;
+      deck = new Deck();
+      dealt = new byte[Card.COUNT];
+      redPile = new byte[PILE_CAPACITY];
+      blackPile = new byte[PILE_CAPACITY];
+      summary = new Summary();
+    }
+
+    Summary run(long iterations) {
+      for (long i = 0; i < iterations; i++) {
+        deck.shuffle(rng);
+        int count = deck.drawOrdinals(dealt, 0, dealt.length);
+        int redSize = 0;
+        int blackSize = 0;
+        for (int j = 0; j + 1 < count; j += 2) {
+          if (isRed(dealt[j])) {
+            redPile[redSize++] = dealt[j + 1];
+          } else {
+            blackPile[blackSize++] = dealt[j + 1];
+          }
+        }
+        int swapSize = rng.nextInt(1 + Math.min(redSize, blackSize));
+        // After the swap, the red pile holds the first swapSize cards of the black pile, followed
+        // by the red pile's cards from position swapSize on; and vice versa.
+        int redCount = countRed(redPile, swapSize, redSize) + countRed(blackPile, 0, swapSize);
+        int blackCount = (blackSize - swapSize - countRed(blackPile, swapSize, blackSize))
+            + (swapSize - countRed(redPile, 0, swapSize));
+        summary.record(redCount, blackCount, swapSize);
+      }
+      return summary;
+    }
+
+    private static int countRed(byte[] pile, int from, int to) {
+      int count = 0;
+      for (int i = from; i < to; i++) {
+        if (isRed(pile[i])) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+  }
+
+  /**
+   * Aggregated results of multiple runs of the trick: frequency distributions of the red count (red
+   * cards in the red pile), black count (black cards in the black pile), and swap size.
+   */
+  public static class Summary {
+
+    private final long[] redCounts = new long[PILE_CAPACITY + 1];
+    private final long[] blackCounts = new long[PILE_CAPACITY + 1];
+    private final long[] swapSizes = new long[PILE_CAPACITY + 1];
+    private long iterations;
+    private long mismatches;
+
+    Summary() {
+    }
+
+    void record(int redCount, int blackCount, int swapSize) {
+      iterations++;
+      redCounts[redCount]++;
+      blackCounts[blackCount]++;
+      swapSizes[swapSize]++;
+      if (redCount != blackCount) {
+        mismatches++;
+      }
+    }
+
+    Summary merge(Summary other) {
+      Summary merged = new Summary();
+      merged.iterations = iterations + other.iterations;
+      merged.mismatches = mismatches + other.mismatches;
+      for (int i = 0; i <= PILE_CAPACITY; i++) {
+        merged.redCounts[i] = redCounts[i] + other.redCounts[i];
+        merged.blackCounts[i] = blackCounts[i] + other.blackCounts[i];
+        merged.swapSizes[i] = swapSizes[i] + other.swapSizes[i];
+      }
+      return merged;
+    }
+
+    /**
+     * Returns the number of times the trick was performed.
+     */
+    public long getIterations() {
+      return iterations;
+    }
+
+    /**
+     * Returns the number of iterations in which the red count differed from the black count. Since
+     * the trick illustrates an invariant, this should always be zero.
+     */
+    public long getMismatches() {
+      return mismatches;
+    }
+
+    /**
+     * Returns the frequency distribution of the red count, indexed by count.
+     */
+    public long[] getRedCounts() {
+      return redCounts.clone();
+    }
+
+    /**
+     * Returns the frequency distribution of the black count, indexed by count.
+     */
+    public long[] getBlackCounts() {
+      return blackCounts.clone();
+    }
+
+    /**
+     * Returns the frequency distribution of the number of cards swapped, indexed by swap size.
+     */
+    public long[] getSwapSizes() {
+      return swapSizes.clone();
+    }
+
+    /**
+     * Returns the mean of the red count over all iterations.
+     */
+    public double getMeanRedCount() {
+      return mean(redCounts);
+    }
+
+    /**
+     * Returns the mean of the swap size over all iterations.
+     */
+    public double getMeanSwapSize() {
+      return mean(swapSizes);
+    }
+
+    /**
+     * Returns the standard deviation of the swap size over all iterations.
+     */
+    public double getSwapSizeStandardDeviation() {
+      double mean = mean(swapSizes);
+      double sumSquares = 0;
+      for (int i = 0; i < swapSizes.length; i++) {
+        sumSquares += swapSizes[i] * (i - mean) * (i - mean);
+      }
+      return (iterations > 0) ? Math.sqrt(sumSquares / iterations) : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "Iterations: %,d. Mismatches: %,d. Mean red count: %.3f. "
+              + "Mean swap size: %.3f (s.d. %.3f). Red count distribution: %s.",
+          iterations, mismatches, getMeanRedCount(), getMeanSwapSize(),
+          getSwapSizeStandardDeviation(), Arrays.toString(redCounts));
+    }
+
+    private double mean(long[] frequencies) {
+      double sum = 0;
+      for (int i = 0; i < frequencies.length; i++) {
+        sum += (double) i * frequencies[i];
+      }
+      return (iterations > 0) ? sum / iterations : Double.NaN;
+    }
+
+  }
+
+}
@@ -1,5 +1,6 @@
 /**
- * Package containing a single class, implementing a card trick that illustrates a property of
- * certain sets and predicates.
+ * Package containing a class implementing a card trick that illustrates a property of certain sets
+ * and predicates, along with a parallel simulation that performs the trick many times and
+ * summarizes the results.
  */
 package edu.cnm.deepdive.controller;
\ No newline at end of file
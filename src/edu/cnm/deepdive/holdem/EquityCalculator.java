@@ -0,0 +1,524 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.holdem;
+
+import edu.cnm.deepdive.model.Blocks;
+import edu.cnm.deepdive.model.Card;
+import edu.cnm.deepdive.model.CardSet;
+import edu.cnm.deepdive.model.PokerEvaluator;
+import edu.cnm.deepdive.model.RandomSources;
+import edu.cnm.deepdive.model.Shuffler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Computes the showdown equity of a Texas hold'em player's hole cards, given a (possibly empty)
+ * partial board, against one or more opponents, each of whom holds either known hole cards, or 2
+ * cards dealt at random from those remaining. Instances are created using the <em>builder
+ * pattern</em> (see {@link Builder}).
+ *
+ * <p>The unknown cards&mdash;the rest of the board, and the hole cards of the random
+ * opponents&mdash;may be dealt in one of 2 ways:</p>
+ * <ul>
+ *   <li><p>{@link #enumerate()} deals every possible combination of the remaining cards exactly
+ *   once. The combinations are divided by their first card into tasks, which are executed in the
+ *   common {@link ForkJoinPool}; each task holds the cards dealt in {@code long} membership masks,
+ *   so that no allocation is performed per deal.</p></li>
+ *   <li><p>{@link #sample(long, SplittableGenerator)} deals the specified number of random
+ *   combinations, drawn (by a partial shuffle) from the remaining cards, in parallel blocks of a
+ *   fixed size (see {@link Blocks}), each with its own source of randomness, split from a single
+ *   root generator; thus, with a seeded root generator, the estimate is the same on every
+ *   host.</p></li>
+ * </ul>
+ * <p>{@link #calculate()} enumerates when the number of possible deals does not exceed the limit
+ * set by {@link Builder#exactLimit(long)}, and samples otherwise.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public class EquityCalculator {
+
+  private static final int BOARD_SIZE = 5;
+  private static final int HOLE_SIZE = 2;
+  private static final int BLOCK_SIZE = 10_000;
+
+  private final long hole;
+  private final long board;
+  private final long[] opponents;
+  private final int randomOpponents;
+  private final long exactLimit;
+  private final long samples;
+  private final byte[] remaining;
+  private final int[] groupSizes;
+  private final int boardGroups;
+
+  private EquityCalculator(Builder builder) {
+    hole = builder.hole;
+    board = builder.board;
+    opponents = builder.opponents.stream().mapToLong(Long::longValue).toArray();
+    randomOpponents = builder.randomOpponents;
+    exactLimit = builder.exactLimit;
+    samples = builder.samples;
+    long dead = hole | board;
+    for (long opponent : opponents) {
+      dead |= opponent;
+    }
+    remaining = new byte[Card.COUNT - Long.bitCount(dead)];
+    for (int ordinal = 0, i = 0; ordinal < Card.COUNT; ordinal++) {
+      if ((dead & (1L << ordinal)) == 0) {
+        remaining[i++] = (byte) ordinal;
+      }
+    }
+    int boardMissing = BOARD_SIZE - Long.bitCount(board);
+    boardGroups = (boardMissing > 0) ? 1 : 0;
+    groupSizes = new int[boardGroups + randomOpponents];
+    if (boardGroups > 0) {
+      groupSizes[0] = boardMissing;
+    }
+    for (int group = boardGroups; group < groupSizes.length; group++) {
+      groupSizes[group] = HOLE_SIZE;
+    }
+  }
+
+  /**
+   * Returns the number of distinct ways the unknown cards may be dealt. (Random opponents are
+   * treated as distinct, so deals in which they exchange hole cards are counted separately.)
+   *
+   * @return number of deals enumerated by {@link #enumerate()}.
+   */
+  public double getDeals() {
+    double deals = 1;
+    int available = remaining.length;
+    for (int size : groupSizes) {
+      deals *= combinations(available, size);
+      available -= size;
+    }
+    return deals;
+  }
+
+  /**
+   * Computes the equity by enumeration, if the number of possible deals does not exceed the exact
+   * limit; otherwise, computes the equity by sampling, using a randomly seeded simulation source of
+   * randomness (see {@link RandomSources#simulation()}).
+   *
+   * @return equity of the player's hole cards.
+   */
+  public Equity calculate() {
+    return (getDeals() <= exactLimit) ? enumerate() : sample(samples, RandomSources.simulation());
+  }
+
+  /**
+   * Computes the equity by dealing every possible combination of the unknown cards exactly once.
+   *
+   * @return exact equity of the player's hole cards.
+   */
+  public Equity enumerate() {
+    if (groupSizes.length == 0) {
+      Dealer dealer = new Dealer();
+      dealer.showdown(board);
+      return dealer.equity;
+    }
+    return ForkJoinPool.commonPool().invoke(new EnumerationTask(0, remaining.length));
+  }
+
+  /**
+   * Estimates the equity by dealing the specified number of random combinations of the unknown
+   * cards.
+   *
+   * @param trials number of random deals.
+   * @param rng root source of randomness.
+   * @return estimated equity of the player's hole cards.
+   */
+  public Equity sample(long trials, SplittableGenerator rng) {
+    return Blocks.reduce(trials, BLOCK_SIZE, rng, new Equity(opponents.length + randomOpponents + 1),
+        (count, blockRng) -> new Dealer().sample(count, blockRng), Equity::merge);
+  }
+
+  private static double combinations(int n, int k) {
+    double result = 1;
+    for (int i = 0; i < k; i++) {
+      result = result * (n - i) / (i + 1);
+    }
+    return result;
+  }
+
+  private class Dealer {
+
+    private final long[] randomHoles = new long[randomOpponents];
+    private final Equity equity = new Equity(opponents.length + randomOpponents + 1);
+    private long fullBoard = board;
+    private long used;
+
+    Equity enumerate(int first) {
+      long bit = 1L << remaining[first];
+      used = bit;
+      choose(0, 1, first + 1, bit);
+      return equity;
+    }
+
+    Equity sample(long trials, RandomGenerator rng) {
+      byte[] cards = remaining.clone();
+      int needed = 0;
+      for (int size : groupSizes) {
+        needed += size;
+      }
+      for (long trial = 0; trial < trials; trial++) {
+        Shuffler.shuffle(cards, 0, cards.length, needed, rng);
+        int position = 0;
+        for (int group = 0; group < groupSizes.length; group++) {
+          long chosen = 0;
+          for (int i = 0; i < groupSizes[group]; i++) {
+            chosen |= 1L << cards[position++];
+          }
+          store(group, chosen);
+        }
+        showdown(fullBoard);
+      }
+      return equity;
+    }
+
+    private void choose(int group, int count, int start, long chosen) {
+      if (count == groupSizes[group]) {
+        assign(group, chosen);
+      } else {
+        for (int i = start; i < remaining.length; i++) {
+          long bit = 1L << remaining[i];
+          if ((used & bit) == 0) {
+            used |= bit;
+            choose(group, count + 1, i + 1, chosen | bit);
+            used &= ~bit;
+          }
+        }
+      }
+    }
+
+    private void assign(int group, long chosen) {
+      store(group, chosen);
+      if (group + 1 < groupSizes.length) {
+        choose(group + 1, 0, 0, 0);
+      } else {
+        showdown(fullBoard);
+      }
+    }
+
+    private void store(int group, long chosen) {
+      if (group < boardGroups) {
+        fullBoard = board | chosen;
+      } else {
+        randomHoles[group - boardGroups] = chosen;
+      }
+    }
+
+    private void showdown(long fullBoard) {
+      int strength = PokerEvaluator.evaluate(hole | fullBoard);
+      int best = Integer.MIN_VALUE;
+      int tied = 0;
+      for (long opponent : opponents) {
+        int opponentStrength = PokerEvaluator.evaluate(opponent | fullBoard);
+        if (opponentStrength > best) {
+          best = opponentStrength;
+          tied = 0;
+        }
+        if (opponentStrength == best) {
+          tied++;
+        }
+      }
+      for (long opponent : randomHoles) {
+        int opponentStrength = PokerEvaluator.evaluate(opponent | fullBoard);
+        if (opponentStrength > best) {
+          best = opponentStrength;
+          tied = 0;
+        }
+        if (opponentStrength == best) {
+          tied++;
+        }
+      }
+      equity.record(Integer.compare(strength, best), tied);
+    }
+
+  }
+
+  private class EnumerationTask extends RecursiveTask<Equity> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+
+    EnumerationTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Equity compute() {
+      Equity result;
+      if (to - from == 1) {
+        result = new Dealer().enumerate(from);
+      } else {
+        int middle = (from + to) >>> 1;
+        EnumerationTask low = new EnumerationTask(from, middle);
+        EnumerationTask high = new EnumerationTask(middle, to);
+        low.fork();
+        result = high.compute().merge(low.join());
+      }
+      return result;
+    }
+
+  }
+
+  /**
+   * Tallies of showdown results from the perspective of the player: the number of deals won, tied
+   * (by the number of players sharing the pot), and lost.
+   */
+  public static class Equity {
+
+    private final long[] ties;
+    private long wins;
+    private long losses;
+
+    Equity(int players) {
+      ties = new long[players + 1];
+    }
+
+    void record(int comparison, int tied) {
+      if (comparison > 0) {
+        wins++;
+      } else if (comparison < 0) {
+        losses++;
+      } else {
+        ties[tied + 1]++;
+      }
+    }
+
+    Equity merge(Equity other) {
+      Equity merged = new Equity(ties.length - 1);
+      merged.wins = wins + other.wins;
+      merged.losses = losses + other.losses;
+      for (int i = 0; i < ties.length; i++) {
+        merged.ties[i] = ties[i] + other.ties[i];
+      }
+      return merged;
+    }
+
+    /**
+     * Returns the number of deals evaluated.
+     */
+    public long getDeals() {
+      long deals = wins + losses;
+      for (long count : ties) {
+        deals += count;
+      }
+      return deals;
+    }
+
+    /**
+     * Returns the number of deals won outright.
+     */
+    public long getWins() {
+      return wins;
+    }
+
+    /**
+     * Returns the number of deals in which the pot was shared.
+     */
+    public long getTies() {
+      return getDeals() - wins - losses;
+    }
+
+    /**
+     * Returns the number of deals lost.
+     */
+    public long getLosses() {
+      return losses;
+    }
+
+    /**
+     * Returns the fraction of deals won outright.
+     */
+    public double getWinProbability() {
+      return (double) wins / getDeals();
+    }
+
+    /**
+     * Returns the fraction of deals in which the pot was shared.
+     */
+    public double getTieProbability() {
+      return (double) getTies() / getDeals();
+    }
+
+    /**
+     * Returns the fraction of deals lost.
+     */
+    public double getLossProbability() {
+      return (double) losses / getDeals();
+    }
+
+    /**
+     * Returns the equity: the expected share of the pot, counting a pot shared by <em>n</em>
+     * players as 1/<em>n</em> of a win.
+     */
+    public double getEquity() {
+      double shares = wins;
+      for (int players = 2; players < ties.length; players++) {
+        shares += (double) ties[players] / players;
+      }
+      return shares / getDeals();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("Deals: %,d. Win: %.4f%%. Tie: %.4f%%. Loss: %.4f%%. Equity: %.4f%%.",
+          getDeals(), 100 * getWinProbability(), 100 * getTieProbability(),
+          100 * getLossProbability(), 100 * getEquity());
+    }
+
+  }
+
+  /**
+   * Implements the <em>builder pattern</em> for the creation of {@link EquityCalculator}
+   * instances.
+   */
+  public static class Builder {
+
+    private static final String BAD_HOLE = "Hole cards must consist of exactly 2 cards.";
+    private static final String BAD_BOARD = "Board must not contain more than 5 cards.";
+    private static final String BAD_OPPONENT_COUNT = "Number of random opponents must be non-negative.";
+    private static final String DUPLICATE_CARDS = "Cards must not be held by more than one player, or by a player and the board.";
+    private static final String NO_OPPONENTS = "At least one opponent is required.";
+    private static final String TOO_MANY_PLAYERS = "Not enough cards remain to deal all players.";
+    private static final String BAD_LIMIT = "Limit must be non-negative.";
+    private static final String BAD_SAMPLES = "Number of samples must be positive.";
+    private static final long DEFAULT_EXACT_LIMIT = 20_000_000;
+    private static final long DEFAULT_SAMPLES = 2_000_000;
+
+    private final long hole;
+    private final List<Long> opponents = new ArrayList<>();
+    private long board;
+    private int randomOpponents;
+    private long exactLimit = DEFAULT_EXACT_LIMIT;
+    private long samples = DEFAULT_SAMPLES;
+
+    /**
+     * Initializes the builder with the hole cards of the player whose equity is to be computed.
+     *
+     * @param hole player's hole cards.
+     */
+    public Builder(CardSet hole) {
+      if (hole.size() != HOLE_SIZE) {
+        throw new IllegalArgumentException(BAD_HOLE);
+      }
+      this.hole = hole.bits();
+    }
+
+    /**
+     * Sets the cards already dealt to the board (the flop, turn, and/or river).
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder board(CardSet board) {
+      if (board.size() > BOARD_SIZE) {
+        throw new IllegalArgumentException(BAD_BOARD);
+      }
+      this.board = board.bits();
+      return this;
+    }
+
+    /**
+     * Adds an opponent holding the specified hole cards.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder opponent(CardSet hole) {
+      if (hole.size() != HOLE_SIZE) {
+        throw new IllegalArgumentException(BAD_HOLE);
+      }
+      opponents.add(hole.bits());
+      return this;
+    }
+
+    /**
+     * Sets the number of opponents holding random hole cards.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder randomOpponents(int count) {
+      if (count < 0) {
+        throw new IllegalArgumentException(BAD_OPPONENT_COUNT);
+      }
+      randomOpponents = count;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of possible deals for which {@link EquityCalculator#calculate()}
+     * enumerates, rather than samples.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder exactLimit(long exactLimit) {
+      if (exactLimit < 0) {
+        throw new IllegalArgumentException(BAD_LIMIT);
+      }
+      this.exactLimit = exactLimit;
+      return this;
+    }
+
+    /**
+     * Sets the number of random deals performed when {@link EquityCalculator#calculate()} samples.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder samples(long samples) {
+      if (samples <= 0) {
+        throw new IllegalArgumentException(BAD_SAMPLES);
+      }
+      this.samples = samples;
+      return this;
+    }
+
+    /**
+     * Constructs and returns an instance of {@link EquityCalculator}.
+     *
+     * @throws IllegalArgumentException if any card is held by more than one player (or by a player
+     *                                  and the board), there are no opponents, or there are too
+     *                                  many players to deal.
+     */
+    public EquityCalculator build() {
+      if (opponents.isEmpty() && randomOpponents == 0) {
+        throw new IllegalArgumentException(NO_OPPONENTS);
+      }
+      long dealt = hole | board;
+      int count = Long.bitCount(hole) + Long.bitCount(board);
+      for (long opponent : opponents) {
+        dealt |= opponent;
+        count += Long.bitCount(opponent);
+      }
+      if (Long.bitCount(dealt) != count) {
+        throw new IllegalArgumentException(DUPLICATE_CARDS);
+      }
+      if (Card.COUNT - count < (BOARD_SIZE - Long.bitCount(board)) + HOLE_SIZE * randomOpponents) {
+        throw new IllegalArgumentException(TOO_MANY_PLAYERS);
+      }
+      return new EquityCalculator(this);
+    }
+
+  }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * Package containing a Texas hold'em equity calculator, which computes the probabilities of
+ * winning, tying, and losing a showdown, by exhaustive enumeration or by sampling.
+ */
+package edu.cnm.deepdive.holdem;
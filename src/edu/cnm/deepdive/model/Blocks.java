@@ -0,0 +1,186 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Partitions a range of items (e.g. the rows of a {@link ShoeBank}, the words of each column of a
+ * {@link DealBatch}, or the iterations of a simulation) into fixed-size blocks, which are processed
+ * in parallel on the common fork/join pool. Since the block boundaries depend only on the number of
+ * items and the block size&mdash;not on the number of processors available&mdash;any per-block
+ * state, such as a source of randomness split from a root generator for each block, is assigned to
+ * the same items on every host.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class Blocks {
+
+  private static final String BAD_ITEMS = "Number of items must be non-negative.";
+  private static final String BAD_BLOCK_SIZE = "Block size must be positive.";
+  private static final int BLOCKS_PER_WAVE = 1024;
+
+  private Blocks() {
+    // Non-instantiable utility class.
+  }
+
+  /**
+   * Returns the number of blocks of {@code blockSize} items needed to hold {@code items} items.
+   */
+  static int count(int items, int blockSize) {
+    return (int) (((long) items + blockSize - 1) / blockSize);
+  }
+
+  /**
+   * Invokes {@code action}, in parallel, for each block of {@code blockSize} items (the last block
+   * may be smaller) in the range from 0 (inclusive) to {@code items} (exclusive).
+   */
+  static void forEach(int items, int blockSize, RangeAction action) {
+    IntStream.range(0, count(items, blockSize))
+        .parallel()
+        .forEach((block) -> action.run(block, start(block, items, blockSize),
+            start(block + 1, items, blockSize)));
+  }
+
+  /**
+   * Applies {@code function}, in parallel, to each block of {@code blockSize} items (see {@link
+   * #forEach(int, int, RangeAction)}), and returns the sum of the results.
+   */
+  static long sum(int items, int blockSize, RangeFunction function) {
+    return IntStream.range(0, count(items, blockSize))
+        .parallel()
+        .mapToLong((block) -> function.apply(start(block, items, blockSize),
+            start(block + 1, items, blockSize)))
+        .sum();
+  }
+
+  /**
+   * Divides {@code items} items into blocks of {@code blockSize} items (the last block may be
+   * smaller), and performs {@code task} on each block, in parallel, with a source of randomness
+   * split from {@code rng} for that block; the per-block results are then combined with {@code
+   * merge}, starting from {@code identity}, in block order. Neither the block boundaries, nor the
+   * source of randomness assigned to each block, nor the order in which results are merged depends
+   * on the number of processors or on thread scheduling, so for a given number of items, block
+   * size, and root generator state, the result is the same on every host (even if {@code merge}
+   * is not associative, as with floating-point sums).
+   *
+   * <p>To bound the memory used by generators and pending results, the blocks are processed in
+   * waves of a fixed number of blocks; the generators for each wave are split from {@code rng} as
+   * the wave begins.</p>
+   *
+   * @param items total number of items (e.g. iterations).
+   * @param blockSize number of items per block.
+   * @param rng root source of randomness.
+   * @param identity initial value of the result (and the result if {@code items} is zero).
+   * @param task computation performed on each block.
+   * @param merge combiner of results.
+   * @param <R> type of result.
+   * @return merged result of all blocks.
+   * @throws IllegalArgumentException if {@code items} is negative, or {@code blockSize} is not
+   *                                  positive.
+   */
+  public static <R> R reduce(long items, int blockSize, SplittableGenerator rng, R identity,
+      BlockTask<R> task, BinaryOperator<R> merge) {
+    if (items < 0) {
+      throw new IllegalArgumentException(BAD_ITEMS);
+    }
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException(BAD_BLOCK_SIZE);
+    }
+    long blocks = (items + blockSize - 1) / blockSize;
+    R result = identity;
+    for (long first = 0; first < blocks; first += BLOCKS_PER_WAVE) {
+      int count = (int) Math.min(BLOCKS_PER_WAVE, blocks - first);
+      RandomGenerator[] rngs = RandomSources.split(rng, count);
+      long waveStart = first * blockSize;
+      List<R> results = IntStream.range(0, count)
+          .parallel()
+          .mapToObj((block) -> {
+            long start = waveStart + (long) block * blockSize;
+            return task.run(Math.min(blockSize, items - start), rngs[block]);
+          })
+          .collect(Collectors.toList());
+      for (R blockResult : results) {
+        result = merge.apply(result, blockResult);
+      }
+    }
+    return result;
+  }
+
+  private static int start(int block, int items, int blockSize) {
+    return (int) Math.min(items, (long) block * blockSize);
+  }
+
+  /**
+   * Processes a single block of items.
+   */
+  @FunctionalInterface
+  interface RangeAction {
+
+    /**
+     * Processes the items in the specified block.
+     *
+     * @param block index of block.
+     * @param start first item in block (inclusive).
+     * @param end last item in block (exclusive).
+     */
+    void run(int block, int start, int end);
+
+  }
+
+  /**
+   * Performs a computation on a single block of items, in {@link #reduce(long, int,
+   * SplittableGenerator, Object, BlockTask, BinaryOperator)}.
+   *
+   * @param <R> type of result.
+   */
+  @FunctionalInterface
+  public interface BlockTask<R> {
+
+    /**
+     * Processes the specified number of items, and returns the result.
+     *
+     * @param items number of items in the block.
+     * @param rng source of randomness for the block.
+     * @return result for the block.
+     */
+    R run(long items, RandomGenerator rng);
+
+  }
+
+  /**
+   * Computes a single block's contribution to a sum.
+   */
+  @FunctionalInterface
+  interface RangeFunction {
+
+    /**
+     * Returns the result for the items in the specified range.
+     *
+     * @param start first item in block (inclusive).
+     * @param end last item in block (exclusive).
+     * @return result for block.
+     */
+    long apply(int start, int end);
+
+  }
+
+}
@@ -15,33 +15,82 @@
  */
 package edu.cnm.deepdive.model;
 
-import java.util.Comparator;
-import java.util.Objects;
-
 /**
  * Encapsulates a single playing card as a combination of {@link Suit} and {@link Rank}. Instances
- * of this class are immutable.
+ * of this class are immutable, and canonical: exactly one instance exists for each combination of
+ * {@link Suit} and {@link Rank}, and is obtained via {@link #of(Suit, Rank)} or {@link #of(int)}.
+ * Consequently, two {@code Card} references are equal if and only if they refer to the same
+ * instance.
  *
  * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
  */
-public class Card implements Comparable<Card> {
+public final class Card implements Comparable<Card> {
+
+  /** Number of distinct cards (and thus of canonical {@code Card} instances). */
+  public static final int COUNT = Suit.values().length * Rank.values().length;
+
+  private static final int RANK_COUNT = Rank.values().length;
+  private static final String BAD_ORDINAL = "Card ordinal must be between 0 and %d, inclusive.";
+  private static final Card[] cards = new Card[COUNT];
+
+  static {
+    int ordinal = 0;
+    for (Suit s : Suit.values()) {
+      for (Rank r : Rank.values()) {
+        cards[ordinal] = new Card(s, r, ordinal);
+        ordinal++;
+      }
+    }
+  }
 
   private final Suit suit;
   private final Rank rank;
-  private final int hash;
+  private final int ordinal;
   private final String repr;
 
+  private Card(Suit suit, Rank rank, int ordinal) {
+    this.suit = suit;
+    this.rank = rank;
+    this.ordinal = ordinal;
+    repr = rank.symbol() + suit.symbol();
+  }
+
   /**
-   * Initializes this {@code Card} instance with the specified {@link Suit} and {@link Rank}.
+   * Returns the canonical {@code Card} instance with the specified {@link Suit} and {@link Rank}.
    *
    * @param suit {@link Suit} value of card.
    * @param rank {@link Rank} value of card.
+   * @return canonical {@code Card} instance.
    */
-  public Card(Suit suit, Rank rank) {
-    this.suit = suit;
-    this.rank = rank;
-    hash = Objects.hash(suit, rank);
-    repr = rank.symbol() + suit.symbol();
+  public static Card of(Suit suit, Rank rank) {
+    return cards[ordinal(suit, rank)];
+  }
+
+  /**
+   * Returns the canonical {@code Card} instance with the specified ordinal (see {@link
+   * #ordinal()}).
+   *
+   * @param ordinal position of the card in natural order, from 0 to {@link #COUNT} - 1.
+   * @return canonical {@code Card} instance.
+   * @throws IllegalArgumentException if {@code ordinal} is out of range.
+   */
+  public static Card of(int ordinal) {
+    if (ordinal < 0 || ordinal >= COUNT) {
+      throw new IllegalArgumentException(String.format(BAD_ORDINAL, COUNT - 1));
+    }
+    return cards[ordinal];
+  }
+
+  /**
+   * Computes and returns the ordinal of the card with the specified {@link Suit} and {@link Rank},
+   * without retrieving the {@code Card} instance.
+   *
+   * @param suit {@link Suit} value of card.
+   * @param rank {@link Rank} value of card.
+   * @return ordinal of card in natural order.
+   */
+  public static int ordinal(Suit suit, Rank rank) {
+    return suit.ordinal() * RANK_COUNT + rank.ordinal();
   }
 
   /**
@@ -58,6 +107,18 @@ public class Card implements Comparable<Card> {
     return rank;
   }
 
+  /**
+   * Returns the position of this card in natural order&mdash;that is, the order enforced by the
+   * {@link Comparable Comparable&lt;Card&gt;} implementation: by {@link Suit}, then by {@link
+   * Rank}. The value returned is in the range 0 to {@link #COUNT} - 1, and uniquely identifies the
+   * card.
+   *
+   * @return ordinal of this card.
+   */
+  public int ordinal() {
+    return ordinal;
+  }
+
   /**
    * Concatenates and returns the values returned by {@link #getRank()}{@link Rank#symbol()
    * symbol()} and {@link #getSuit()}{@link Suit#symbol() symbol()}.
@@ -71,26 +132,17 @@ public class Card implements Comparable<Card> {
 
   @Override
   public int hashCode() {
-    return hash;
+    return ordinal;
   }
 
   @Override
   public boolean equals(Object obj) {
-    boolean comparison = false;
-    if (obj == this) {
-      comparison = true;
-    } else if (obj instanceof Card) {
-      Card other = (Card) obj;
-      if (hash == other.hash && suit == other.suit && rank == other.rank) {
-        comparison = true;
-      }
-    }
-    return comparison;
+    return obj == this;
   }
 
   @Override
   public int compareTo(Card other) {
-    return Comparator.comparing(Card::getSuit).thenComparing(Card::getRank).compare(this, other);
+    return Integer.compare(ordinal, other.ordinal);
   }
 
 }
@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.Comparator;
+
+/**
+ * Defines the commonly used total orderings of {@link Card} instances. Each ordering is a reusable
+ * {@link Comparator Comparator&lt;Card&gt;}, backed by a table (computed when this class is
+ * initialized) mapping each card to its sort key: its position, from 0 to {@link Card#COUNT} - 1,
+ * in the ordering. Comparisons thus perform no allocation and no enum lookups.
+ *
+ * <p>Since sort keys are distinct and fit in a single {@code long} bit mask, a collection of
+ * distinct cards (e.g. a deck or hand) is sorted in linear time by setting the bit for each key,
+ * and then reading the keys back in order; collections with repeated cards (e.g. a shoe) are sorted
+ * with a counting sort, in a count buffer supplied (and reused) by the caller. (See {@link Deck#sort(CardOrder, boolean)} and {@link
+ * Hand#sort(CardOrder)}.)</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public enum CardOrder implements Comparator<Card> {
+
+  /** By {@link Suit}, then by {@link Rank}, with aces low; this is the natural order of cards. */
+  SUIT_RANK(true, false),
+  /** By {@link Suit}, then by {@link Rank}, with aces high. */
+  SUIT_RANK_ACE_HIGH(true, true),
+  /** By {@link Rank}, with aces low, then by {@link Suit}. */
+  RANK_SUIT(false, false),
+  /** By {@link Rank}, with aces high, then by {@link Suit}. */
+  RANK_SUIT_ACE_HIGH(false, true);
+
+  private final byte[] keys = new byte[Card.COUNT];
+  private final byte[] ordinals = new byte[Card.COUNT];
+
+  CardOrder(boolean suitMajor, boolean aceHigh) {
+    // Static fields of an enum are not yet initialized when its constants are constructed.
+    int suits = Suit.values().length;
+    int ranks = Rank.values().length;
+    for (int ordinal = 0; ordinal < Card.COUNT; ordinal++) {
+      int suit = ordinal / ranks;
+      int rank = aceHigh ? (ordinal + ranks - 1) % ranks : ordinal % ranks;
+      int key = suitMajor ? suit * ranks + rank : rank * suits + suit;
+      keys[ordinal] = (byte) key;
+      ordinals[key] = (byte) ordinal;
+    }
+  }
+
+  /**
+   * Returns the sort key of {@code card} in this ordering.
+   *
+   * @param card {@link Card} instance.
+   * @return position of {@code card} in this ordering, from 0 to {@link Card#COUNT} - 1.
+   */
+  public int key(Card card) {
+    return keys[card.ordinal()];
+  }
+
+  /**
+   * Returns the card with the specified sort key in this ordering.
+   *
+   * @param key position in this ordering, from 0 to {@link Card#COUNT} - 1.
+   * @return canonical {@link Card} instance.
+   * @throws ArrayIndexOutOfBoundsException if {@code key} is out of range.
+   */
+  public Card card(int key) {
+    return Card.of(ordinals[key]);
+  }
+
+  @Override
+  public int compare(Card card1, Card card2) {
+    return keys[card1.ordinal()] - keys[card2.ordinal()];
+  }
+
+  /**
+   * Sorts the card ordinals in the specified range of {@code ordinals} in this ordering, in linear
+   * time, without allocation. If the cards are not distinct, {@code counts}&mdash;which must have
+   * at least {@link Card#COUNT} elements, all zero&mdash;is used for a counting sort, and is left
+   * zeroed on return, ready for reuse.
+   */
+  void sort(byte[] ordinals, int from, int to, int[] counts) {
+    long present = 0;
+    for (int i = from; i < to; i++) {
+      long bit = 1L << keys[ordinals[i]];
+      if ((present & bit) != 0) {
+        countingSort(ordinals, from, to, counts);
+        return;
+      }
+      present |= bit;
+    }
+    for (int i = from; present != 0; present &= present - 1) {
+      ordinals[i++] = this.ordinals[Long.numberOfTrailingZeros(present)];
+    }
+  }
+
+  private void countingSort(byte[] ordinals, int from, int to, int[] counts) {
+    for (int i = from; i < to; i++) {
+      counts[keys[ordinals[i]]]++;
+    }
+    for (int key = 0, i = from; key < Card.COUNT; key++) {
+      byte ordinal = this.ordinals[key];
+      for (int count = counts[key]; count > 0; count--) {
+        ordinals[i++] = ordinal;
+      }
+      counts[key] = 0;
+    }
+  }
+
+}
@@ -0,0 +1,367 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import edu.cnm.deepdive.model.Suit.Color;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+/**
+ * Immutable, unordered set of distinct {@link Card} instances, represented as a single 52-bit
+ * mask: the bit at position {@link Card#ordinal()} is set if and only if the corresponding card is
+ * a member of the set. Membership tests, insertion, removal, and all set-algebra operations are
+ * constant-time bitwise operations; {@link #size()} is a single population count.
+ *
+ * <p>Since instances are immutable, operations such as {@link #with(Card)} and {@link
+ * #union(CardSet)} return a new (or the same) instance, rather than modifying this one. Where even
+ * that allocation is undesirable, the underlying mask may be manipulated directly, via {@link
+ * #bits()} and {@link #of(long)}.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class CardSet implements Iterable<Card> {
+
+  private static final String BAD_BITS = "Only the low-order %d bits may be set.";
+  private static final long ALL_BITS = (1L << Card.COUNT) - 1;
+  private static final long[] suitMasks = new long[Suit.values().length];
+  private static final long[] colorMasks = new long[Color.values().length];
+  private static final long[] rankMasks = new long[Rank.values().length];
+
+  /** Set containing no cards. */
+  public static final CardSet EMPTY = new CardSet(0);
+  /** Set containing all {@value Card#COUNT} cards. */
+  public static final CardSet ALL = new CardSet(ALL_BITS);
+
+  static {
+    for (int i = 0; i < Card.COUNT; i++) {
+      Card card = Card.of(i);
+      long bit = 1L << i;
+      suitMasks[card.getSuit().ordinal()] |= bit;
+      colorMasks[card.getSuit().color().ordinal()] |= bit;
+      rankMasks[card.getRank().ordinal()] |= bit;
+    }
+  }
+
+  private final long bits;
+
+  private CardSet(long bits) {
+    this.bits = bits;
+  }
+
+  /**
+   * Returns a set whose membership is specified by the bits of {@code bits}, where bit <em>i</em>
+   * corresponds to {@link Card#of(int) Card.of(i)}.
+   *
+   * @param bits membership mask.
+   * @return set with the specified members.
+   * @throws IllegalArgumentException if any of bits {@value Card#COUNT} through 63 are set.
+   */
+  public static CardSet of(long bits) {
+    if ((bits & ~ALL_BITS) != 0) {
+      throw new IllegalArgumentException(String.format(BAD_BITS, Card.COUNT));
+    }
+    return (bits == 0) ? EMPTY : (bits == ALL_BITS) ? ALL : new CardSet(bits);
+  }
+
+  /**
+   * Returns a set containing the specified cards.
+   *
+   * @param cards members of the set.
+   * @return set containing {@code cards}.
+   */
+  public static CardSet of(Card... cards) {
+    long bits = 0;
+    for (Card card : cards) {
+      bits |= bit(card);
+    }
+    return of(bits);
+  }
+
+  /**
+   * Returns a set containing the cards in the specified {@link Iterable}&mdash;e.g. a {@link Pile}
+   * or {@link Hand}. Any duplicates are included only once.
+   *
+   * @param cards source of members.
+   * @return set containing {@code cards}.
+   */
+  public static CardSet of(Iterable<Card> cards) {
+    long bits = 0;
+    for (Card card : cards) {
+      bits |= bit(card);
+    }
+    return of(bits);
+  }
+
+  /**
+   * Returns the set of all cards of the specified {@link Suit}.
+   *
+   * @param suit suit of members.
+   * @return set of all cards in {@code suit}.
+   */
+  public static CardSet of(Suit suit) {
+    return new CardSet(suitMasks[suit.ordinal()]);
+  }
+
+  /**
+   * Returns the set of all cards whose {@link Suit} is of the specified {@link Color}.
+   *
+   * @param color color of members.
+   * @return set of all cards of {@code color}.
+   */
+  public static CardSet of(Color color) {
+    return new CardSet(colorMasks[color.ordinal()]);
+  }
+
+  /**
+   * Returns the set of all cards of the specified {@link Rank}.
+   *
+   * @param rank rank of members.
+   * @return set of all cards of {@code rank}.
+   */
+  public static CardSet of(Rank rank) {
+    return new CardSet(rankMasks[rank.ordinal()]);
+  }
+
+  /**
+   * Returns the membership mask of this set, where bit <em>i</em> corresponds to {@link
+   * Card#of(int) Card.of(i)}.
+   *
+   * @return membership mask.
+   */
+  public long bits() {
+    return bits;
+  }
+
+  /**
+   * Returns the number of cards in this set.
+   *
+   * @return count of members.
+   */
+  public int size() {
+    return Long.bitCount(bits);
+  }
+
+  /**
+   * Returns {@code true} if this set contains no cards.
+   *
+   * @return {@code true} if empty; {@code false} otherwise.
+   */
+  public boolean isEmpty() {
+    return bits == 0;
+  }
+
+  /**
+   * Returns {@code true} if {@code card} is a member of this set.
+   *
+   * @param card card to test for membership.
+   * @return {@code true} if {@code card} is a member; {@code false} otherwise.
+   */
+  public boolean contains(Card card) {
+    return (bits & bit(card)) != 0;
+  }
+
+  /**
+   * Returns {@code true} if every member of {@code other} is also a member of this set.
+   *
+   * @param other set tested for inclusion in this set.
+   * @return {@code true} if {@code other} is a subset of this set; {@code false} otherwise.
+   */
+  public boolean containsAll(CardSet other) {
+    return (other.bits & ~bits) == 0;
+  }
+
+  /**
+   * Returns {@code true} if this set and {@code other} have at least one member in common.
+   *
+   * @param other set tested for intersection with this set.
+   * @return {@code true} if the intersection is non-empty; {@code false} otherwise.
+   */
+  public boolean intersects(CardSet other) {
+    return (bits & other.bits) != 0;
+  }
+
+  /**
+   * Returns a set containing the members of this set, plus {@code card}.
+   *
+   * @param card card to include.
+   * @return set including {@code card}.
+   */
+  public CardSet with(Card card) {
+    return derive(bits | bit(card));
+  }
+
+  /**
+   * Returns a set containing the members of this set, except {@code card}.
+   *
+   * @param card card to exclude.
+   * @return set excluding {@code card}.
+   */
+  public CardSet without(Card card) {
+    return derive(bits & ~bit(card));
+  }
+
+  /**
+   * Returns the union of this set and {@code other}.
+   *
+   * @param other set to combine with this set.
+   * @return set of cards in either set.
+   */
+  public CardSet union(CardSet other) {
+    return derive(bits | other.bits);
+  }
+
+  /**
+   * Returns the intersection of this set and {@code other}.
+   *
+   * @param other set to intersect with this set.
+   * @return set of cards in both sets.
+   */
+  public CardSet intersection(CardSet other) {
+    return derive(bits & other.bits);
+  }
+
+  /**
+   * Returns the members of this set that are not members of {@code other}.
+   *
+   * @param other set of cards to exclude.
+   * @return set difference.
+   */
+  public CardSet difference(CardSet other) {
+    return derive(bits & ~other.bits);
+  }
+
+  /**
+   * Returns the set of all cards not in this set&mdash;e.g. for a set of cards already dealt, the
+   * cards remaining in a single deck.
+   *
+   * @return complement of this set.
+   */
+  public CardSet complement() {
+    return derive(~bits & ALL_BITS);
+  }
+
+  /**
+   * Returns the number of members of this set of the specified {@link Suit}.
+   *
+   * @param suit suit to count.
+   * @return count of members in {@code suit}.
+   */
+  public int count(Suit suit) {
+    return Long.bitCount(bits & suitMasks[suit.ordinal()]);
+  }
+
+  /**
+   * Returns the number of members of this set whose {@link Suit} is of the specified {@link
+   * Color}.
+   *
+   * @param color color to count.
+   * @return count of members of {@code color}.
+   */
+  public int count(Color color) {
+    return Long.bitCount(bits & colorMasks[color.ordinal()]);
+  }
+
+  /**
+   * Returns the number of members of this set of the specified {@link Rank}.
+   *
+   * @param rank rank to count.
+   * @return count of members of {@code rank}.
+   */
+  public int count(Rank rank) {
+    return Long.bitCount(bits & rankMasks[rank.ordinal()]);
+  }
+
+  /**
+   * Returns the enumeration of the {@code k}-card subsets of this set (see {@link Combinations}).
+   *
+   * @param k number of cards in each subset.
+   * @return enumeration of subsets.
+   * @throws IllegalArgumentException if {@code k} is negative, or greater than the size of this
+   *                                  set.
+   */
+  public Combinations combinations(int k) {
+    return Combinations.of(this, k);
+  }
+
+  /**
+   * Adds the members of this set, in natural order, to {@code pile}&mdash;e.g. a {@link Hand}.
+   *
+   * @param pile destination of cards.
+   */
+  public void addTo(Pile pile) {
+    for (long remaining = bits; remaining != 0; remaining &= remaining - 1) {
+      pile.add(Card.of(Long.numberOfTrailingZeros(remaining)));
+    }
+  }
+
+  /**
+   * Returns an {@link Iterator} over the members of this set, in natural order.
+   */
+  @Override
+  public Iterator<Card> iterator() {
+    return new Iterator<>() {
+
+      private long remaining = bits;
+
+      @Override
+      public boolean hasNext() {
+        return remaining != 0;
+      }
+
+      @Override
+      public Card next() {
+        if (remaining == 0) {
+          throw new NoSuchElementException();
+        }
+        Card card = Card.of(Long.numberOfTrailingZeros(remaining));
+        remaining &= remaining - 1;
+        return card;
+      }
+
+    };
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(bits);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return (obj == this
+        || (obj instanceof CardSet
+            && bits == ((CardSet) obj).bits));
+  }
+
+  @Override
+  public String toString() {
+    StringJoiner joiner = new StringJoiner(", ", "[", "]");
+    for (Card card : this) {
+      joiner.add(card.toString());
+    }
+    return joiner.toString();
+  }
+
+  private CardSet derive(long bits) {
+    return (bits == this.bits) ? this : of(bits);
+  }
+
+  private static long bit(Card card) {
+    return 1L << card.ordinal();
+  }
+
+}
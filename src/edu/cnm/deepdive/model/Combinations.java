@@ -0,0 +1,263 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates the <em>k</em>-card subsets of a {@link CardSet} (e.g. the cards remaining in a
+ * {@link Deck}, obtained with {@link CardSet#of(Iterable)}), without allocation. Each subset is
+ * produced as a membership mask, in the form returned by {@link CardSet#bits()}, so that it may be
+ * combined with other masks, or passed to {@link PokerEvaluator#evaluate(long)}, directly; {@link
+ * CardSet#of(long)} may be used to obtain the corresponding {@link CardSet}.
+ *
+ * <p>Subsets are enumerated in <em>colexicographic</em> order of the positions of their members
+ * in the set. Numbering the members of the set 0 through <em>n</em> &minus; 1 (in natural order),
+ * the subset with positions <em>c</em><sub>1</sub> &lt; &hellip; &lt; <em>c</em><sub>k</sub> has
+ * the rank &Sigma; C(<em>c</em><sub>i</sub>, <em>i</em>), so that any subset may be ranked or
+ * {@link #unrank(long) unranked} directly; successive subsets are obtained from the
+ * <em>n</em>-bit mask of positions by Gosper's hack (which computes the next larger integer with
+ * the same number of set bits), and then mapped to the corresponding cards.</p>
+ *
+ * <p>The {@link #spliterator()} of an instance covers a range of ranks, and splits by halving that
+ * range, unranking the first subset of each half; thus a parallel {@link #stream()} partitions the
+ * subsets evenly among threads.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class Combinations {
+
+  private static final String BAD_SUBSET_SIZE = "Subset size must be between 0 and %d.";
+  private static final String BAD_SUBSET = "Mask must specify %d members of the set.";
+  private static final long[][] binomials = new long[Card.COUNT + 1][Card.COUNT + 1];
+
+  static {
+    for (int n = 0; n <= Card.COUNT; n++) {
+      binomials[n][0] = 1;
+      for (int k = 1; k <= n; k++) {
+        binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+      }
+    }
+  }
+
+  private final long universe;
+  private final byte[] members;
+  private final int subsetSize;
+  private final long size;
+
+  private Combinations(CardSet set, int subsetSize) {
+    universe = set.bits();
+    members = new byte[set.size()];
+    if (subsetSize < 0 || subsetSize > members.length) {
+      throw new IllegalArgumentException(String.format(BAD_SUBSET_SIZE, members.length));
+    }
+    int i = 0;
+    for (long remaining = universe; remaining != 0; remaining &= remaining - 1) {
+      members[i++] = (byte) Long.numberOfTrailingZeros(remaining);
+    }
+    this.subsetSize = subsetSize;
+    size = binomials[members.length][subsetSize];
+  }
+
+  /**
+   * Returns the enumeration of the {@code k}-card subsets of {@code set}.
+   *
+   * @param set source of subset members.
+   * @param k number of cards in each subset.
+   * @return enumeration of subsets.
+   * @throws IllegalArgumentException if {@code k} is negative, or greater than the size of
+   *                                  {@code set}.
+   */
+  public static Combinations of(CardSet set, int k) {
+    return new Combinations(set, k);
+  }
+
+  /**
+   * Returns the number of subsets enumerated.
+   */
+  public long size() {
+    return size;
+  }
+
+  /**
+   * Returns the subset with the specified colexicographic rank.
+   *
+   * @param index rank of subset.
+   * @return membership mask of subset.
+   * @throws IndexOutOfBoundsException if {@code index} is negative, or not less than {@link
+   *                                   #size()}.
+   */
+  public long unrank(long index) {
+    Objects.checkIndex(index, size);
+    return toCards(unrankPositions(index));
+  }
+
+  /**
+   * Returns the colexicographic rank of the specified subset.
+   *
+   * @param subset membership mask of subset.
+   * @return rank of subset.
+   * @throws IllegalArgumentException if {@code subset} is not a {@code k}-card subset of the set.
+   */
+  public long rank(long subset) {
+    if ((subset & ~universe) != 0 || Long.bitCount(subset) != subsetSize) {
+      throw new IllegalArgumentException(String.format(BAD_SUBSET, subsetSize));
+    }
+    long rank = 0;
+    for (int position = 0, i = 1; position < members.length; position++) {
+      if ((subset & (1L << members[position])) != 0) {
+        rank += binomials[position][i++];
+      }
+    }
+    return rank;
+  }
+
+  /**
+   * Passes each subset, in colexicographic order, to {@code action}.
+   *
+   * @param action consumer of subset membership masks.
+   */
+  public void forEach(LongConsumer action) {
+    spliterator().forEachRemaining(action);
+  }
+
+  /**
+   * Returns a {@link Spliterator.OfLong} over the membership masks of the subsets, in
+   * colexicographic order. The spliterator is {@link Spliterator#SIZED SIZED} and {@link
+   * Spliterator#SUBSIZED SUBSIZED}, and splits its range of subsets in half.
+   *
+   * @return spliterator over subsets.
+   */
+  public Spliterator.OfLong spliterator() {
+    return new RangeSpliterator(0, size);
+  }
+
+  /**
+   * Returns a sequential {@link LongStream} of the membership masks of the subsets.
+   *
+   * @return stream of subsets.
+   */
+  public LongStream stream() {
+    return StreamSupport.longStream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel {@link LongStream} of the membership masks of the subsets.
+   *
+   * @return parallel stream of subsets.
+   */
+  public LongStream parallelStream() {
+    return StreamSupport.longStream(spliterator(), true);
+  }
+
+  private long unrankPositions(long index) {
+    long positions = 0;
+    int position = members.length;
+    for (int i = subsetSize; i > 0; i--) {
+      do {
+        position--;
+      } while (binomials[position][i] > index);
+      index -= binomials[position][i];
+      positions |= 1L << position;
+    }
+    return positions;
+  }
+
+  private long toCards(long positions) {
+    long cards = 0;
+    for (; positions != 0; positions &= positions - 1) {
+      cards |= 1L << members[Long.numberOfTrailingZeros(positions)];
+    }
+    return cards;
+  }
+
+  private static long nextPositions(long positions) {
+    long lowest = positions & -positions;
+    long ripple = positions + lowest;
+    return (((ripple ^ positions) >>> 2) >>> Long.numberOfTrailingZeros(lowest)) | ripple;
+  }
+
+  private class RangeSpliterator implements Spliterator.OfLong {
+
+    private static final int CHARACTERISTICS =
+        ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+    private long index;
+    private final long end;
+    private long positions;
+
+    RangeSpliterator(long index, long end) {
+      this.index = index;
+      this.end = end;
+      positions = (index < end) ? unrankPositions(index) : 0;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+      if (index >= end) {
+        return false;
+      }
+      action.accept(toCards(positions));
+      if (++index < end) {
+        positions = nextPositions(positions);
+      }
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+      if (index < end) {
+        long current = positions;
+        for (long i = index; ; ) {
+          action.accept(toCards(current));
+          if (++i == end) {
+            break;
+          }
+          current = nextPositions(current);
+        }
+        index = end;
+      }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+      long middle = index + ((end - index) >>> 1);
+      if (middle <= index) {
+        return null;
+      }
+      Spliterator.OfLong prefix = new RangeSpliterator(index, middle);
+      index = middle;
+      positions = unrankPositions(middle);
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+
+  }
+
+}
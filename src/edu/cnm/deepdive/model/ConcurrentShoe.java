@@ -0,0 +1,352 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implements a multi-deck shoe of {@link Card} instances that may be shared by multiple dealer
+ * threads, without locking. Functionally, this class corresponds to {@link Shoe}, with the
+ * following differences:
+ * <ul>
+ *   <li><p>The shuffled order of the cards in the shoe is held in an array that is never modified
+ *   after it is published; drawing a card simply increments an {@link AtomicInteger} cursor into
+ *   that array. Each position in the array is thus claimed by exactly one draw.</p></li>
+ *   <li><p>Reshuffling (whether by {@link #shuffle(RandomGenerator)} or by {@link #start()}, when
+ *   the reshuffle trigger is reached) builds a new shuffled array; the previous cursor is then
+ *   advanced to its end, so that no further cards are drawn from it, and only after that is the
+ *   new array published, with a fresh cursor, in place of the previous one. Cards drawn before
+ *   that point were dealt prior to the reshuffle; those remaining are gathered into the reshuffle.
+ *   Only one thread reshuffles at a time; concurrent invocations of {@link #start()}, and draws
+ *   that find the shoe exhausted during a reshuffle, wait for the handoff, rather than reshuffling
+ *   again or failing.</p></li>
+ *   <li><p>Since drawn cards are never returned individually, there is no separate collection of
+ *   drawn cards, and no {@code gather()} operation.</p></li>
+ * </ul>
+ *
+ * <p>The source of randomness is only used by the thread performing a reshuffle, and access to
+ * it is ordered by the reshuffle guard, so it need not itself be thread-safe.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public class ConcurrentShoe implements Shuffleable {
+
+  private final byte[] composition;
+  private final RandomGenerator rng;
+  private final int reshuffleTrigger;
+  private final AtomicReference<Round> round;
+  private final AtomicBoolean reshuffling;
+
+  private ConcurrentShoe(Builder builder) {
+    int size = 0;
+    for (Deck deck : builder.decks) {
+      size += deck.size();
+    }
+    composition = new byte[size];
+    int offset = 0;
+    for (Deck deck : builder.decks) {
+      byte[] ordinals = deck.toOrdinals();
+      System.arraycopy(ordinals, 0, composition, offset, ordinals.length);
+      offset += ordinals.length;
+    }
+    if (builder.reshuffleTrigger >= size) {
+      throw new IllegalArgumentException(Builder.BAD_TRIGGER_CAPACITY);
+    }
+    rng = builder.rng;
+    reshuffleTrigger = builder.reshuffleTrigger;
+    reshuffling = new AtomicBoolean();
+    byte[] order = composition.clone();
+    if (builder.shuffleOnCreate) {
+      Shuffler.shuffle(order, 0, order.length, rng);
+    }
+    round = new AtomicReference<>(new Round(order, builder.shuffleOnCreate ? 1 : 0));
+  }
+
+  /**
+   * Removes and returns a single {@link Card} from the shoe. If there are no more cards to be
+   * drawn, a {@code null} value is returned; however, if the shoe is exhausted while another
+   * thread is reshuffling it, this method waits for the reshuffled cards to be published, and draws
+   * from those. This method may be invoked concurrently by any number of threads; no card position
+   * is ever drawn more than once per shuffle.
+   *
+   * @return next {@link Card} in the shoe; {@code null} if the shoe is empty.
+   */
+  public Card draw() {
+    Card card = null;
+    Round current = round.get();
+    do {
+      int position = current.claim(1);
+      if (position < current.order.length) {
+        card = Card.of(current.order[position]);
+        break;
+      }
+    } while ((current = awaitHandoff(current)) != null);
+    return card;
+  }
+
+  /**
+   * Removes up to {@code len} cards from the shoe, as a contiguous block claimed with a single
+   * atomic operation, placing them, in order, in {@code dst}, starting at position {@code off}. If
+   * the shoe is exhausted part way through the block while another thread is reshuffling it, the
+   * remainder of the block is drawn from the reshuffled cards (see {@link #draw()}).
+   *
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to draw.
+   * @return number of cards drawn (less than {@code len} only if the shoe is exhausted).
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} do not specify a valid range
+   *                                   of {@code dst}.
+   */
+  public int drawInto(Card[] dst, int off, int len) {
+    Objects.checkFromIndexSize(off, len, dst.length);
+    int count = 0;
+    Round current = round.get();
+    do {
+      int start = current.claim(len - count);
+      int claimed = Math.max(0, Math.min(len - count, current.order.length - start));
+      for (int i = 0; i < claimed; i++) {
+        dst[off + count++] = Card.of(current.order[start + i]);
+      }
+    } while (count < len && (current = awaitHandoff(current)) != null);
+    return count;
+  }
+
+  /**
+   * Returns the number of cards remaining to be drawn. Since other threads may be drawing
+   * concurrently, this is necessarily a snapshot.
+   *
+   * @return count of cards remaining in the shoe.
+   */
+  public int size() {
+    return round.get().remaining();
+  }
+
+  /**
+   * Returns the total number of cards in the shoe, whether drawn or not.
+   *
+   * @return capacity of the shoe.
+   */
+  public int capacity() {
+    return composition.length;
+  }
+
+  /**
+   * Returns the number of shuffles performed since the shoe was created (including any performed
+   * at creation). This may be used by dealers to detect that a reshuffle has occurred.
+   *
+   * @return shuffle count.
+   */
+  public int getEpoch() {
+    return round.get().epoch;
+  }
+
+  /**
+   * Marks the start of a round (hand or round of hands) of play. If the number of cards remaining
+   * in the shoe is less than or equal to the reshuffle trigger point, all cards are gathered and
+   * reshuffled&mdash;either by this thread or, if another thread is already reshuffling the shoe,
+   * by that thread, in which case this method waits (spinning) for the reshuffle to complete. On
+   * return, the number of cards remaining is (momentarily, at least) greater than the reshuffle
+   * trigger point.
+   */
+  public void start() {
+    reshuffle(rng, false);
+  }
+
+  /**
+   * Gathers all cards and reshuffles the shoe, using the specified source of randomness. If
+   * another thread is reshuffling the shoe, this method waits (spinning) until it can reshuffle
+   * the shoe itself.
+   *
+   * @param rng source of randomness.
+   */
+  @Override
+  public void shuffle(RandomGenerator rng) {
+    reshuffle(rng, true);
+  }
+
+  /**
+   * Returns the source of randomness set on creation of the shoe.
+   */
+  @Override
+  public RandomGenerator getRng() {
+    return rng;
+  }
+
+  private Round awaitHandoff(Round exhausted) {
+    while (round.get() == exhausted && reshuffling.get()) {
+      Thread.onSpinWait();
+    }
+    Round current = round.get();
+    return (current != exhausted) ? current : null;
+  }
+
+  private void reshuffle(RandomGenerator rng, boolean force) {
+    boolean required = force;
+    while (required || round.get().remaining() <= reshuffleTrigger) {
+      if (reshuffling.compareAndSet(false, true)) {
+        try {
+          Round previous = round.get();
+          if (required || previous.remaining() <= reshuffleTrigger) {
+            byte[] order = composition.clone();
+            Shuffler.shuffle(order, 0, order.length, rng);
+            // Retire the previous round before publishing the new one, so that a drawer still
+            // holding the previous round cannot claim a position in it after the new epoch begins.
+            previous.retire();
+            round.set(new Round(order, previous.epoch + 1));
+          }
+          required = false;
+        } finally {
+          reshuffling.set(false);
+        }
+      } else {
+        Thread.onSpinWait();
+      }
+    }
+  }
+
+  private static class Round {
+
+    private final byte[] order;
+    private final int epoch;
+    private final AtomicInteger cursor;
+
+    Round(byte[] order, int epoch) {
+      this.order = order;
+      this.epoch = epoch;
+      cursor = new AtomicInteger();
+    }
+
+    int claim(int count) {
+      int position = cursor.getAndAdd(count);
+      if (position >= order.length) {
+        // Keep the cursor from creeping toward overflow when an exhausted round is drawn from
+        // repeatedly. The cursor is only ever lowered to the end of the array, so no position is
+        // ever made available again.
+        cursor.set(order.length);
+      }
+      return position;
+    }
+
+    int remaining() {
+      return Math.max(0, order.length - cursor.get());
+    }
+
+    void retire() {
+      cursor.getAndAccumulate(order.length, Math::max);
+    }
+
+  }
+
+  /**
+   * Implements the <em>builder pattern</em> for the creation of {@link ConcurrentShoe} instances.
+   */
+  public static class Builder {
+
+    private static final String BAD_DECKS_COLLECTION = "Collections of decks must not be null or empty.";
+    private static final String BAD_TRIGGER_VALUE = "Shuffle must be non-negative.";
+    private static final String BAD_TRIGGER_CAPACITY =
+        "Reshuffle trigger must be less than the number of cards in the shoe.";
+
+    private final Collection<Deck> decks;
+    private RandomGenerator rng;
+    private int reshuffleTrigger;
+    private boolean shuffleOnCreate;
+
+    /**
+     * Initializes the builder with the collection of {@link Deck} instances that will be used to
+     * populate the shoe. The cards remaining in each deck (i.e. not already drawn) are copied into
+     * the shoe; the decks themselves are not modified.
+     *
+     * @param decks {@link Collection Collection&lt;Deck&gt;} that will be used for the shoe
+     *              contents.
+     */
+    public Builder(Collection<Deck> decks) {
+      if (decks == null || decks.isEmpty()) {
+        throw new IllegalArgumentException(BAD_DECKS_COLLECTION);
+      }
+      this.decks = decks;
+    }
+
+    /**
+     * Sets the source of randomness to be used for the shuffles performed by the {@link
+     * ConcurrentShoe}.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder randomSource(RandomGenerator rng) {
+      this.rng = rng;
+      return this;
+    }
+
+    /**
+     * Sets the reshuffle trigger point for the {@link ConcurrentShoe}. This must be less than the
+     * total number of cards in the shoe; otherwise, {@link #build()} throws {@link
+     * IllegalArgumentException}.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder reshuffleTrigger(int count) {
+      if (count < 0) {
+        throw new IllegalArgumentException(BAD_TRIGGER_VALUE);
+      }
+      reshuffleTrigger = count;
+      return this;
+    }
+
+    /**
+     * Specifies that the {@link ConcurrentShoe} is to be shuffled during initialization.
+     * Invocation of this method is equivalent to invocation of {@link #shuffleOnCreate(boolean)
+     * shuffleOnCreate(true)}.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder shuffleOnCreate() {
+      return shuffleOnCreate(true);
+    }
+
+    /**
+     * Sets a flag specifying whether the {@link ConcurrentShoe} is to be shuffled during
+     * initialization.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder shuffleOnCreate(boolean shuffleOnCreate) {
+      this.shuffleOnCreate = shuffleOnCreate;
+      return this;
+    }
+
+    /**
+     * Constructs and returns an initialized instance of {@link ConcurrentShoe}.
+     *
+     * @throws IllegalArgumentException if the reshuffle trigger point is not less than the total
+     *                                  number of cards in the decks.
+     */
+    public ConcurrentShoe build() {
+      if (rng == null) {
+        rng = new SecureRandom();
+      }
+      return new ConcurrentShoe(this);
+    }
+
+  }
+
+}
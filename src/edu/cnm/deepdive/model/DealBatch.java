@@ -0,0 +1,244 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Deals a batch of many shuffled decks at once, in columnar (struct-of-arrays) form: for each
+ * position in the deal order, a single {@code byte} column holds the ordinal (see {@link
+ * Card#ordinal()}) of the card dealt at that position from every deck in the batch. Tallies over
+ * the batch&mdash;e.g. the number of cards of a given {@link Suit.Color color}, {@link Suit}, or
+ * {@link Rank} dealt to a pile, for every deck&mdash;then read 8 decks' cards at a time, as the
+ * byte lanes of a single {@code long}, and test all lanes at once with a few word-wide arithmetic
+ * operations (SIMD within a register), rather than looking up the suit or rank of each card.
+ *
+ * <p>The set of cards counted is specified as a {@link CardSet}, which is decomposed, when a tally
+ * begins, into runs of consecutive ordinals; membership of each lane in a run takes 2 additions
+ * and 2 masking operations. Colors and suits are single runs; ranks are 4 runs.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class DealBatch {
+
+  private static final String BAD_DECKS = "Number of decks must be positive.";
+  private static final String BAD_STEP = "Step must be positive.";
+  private static final String SHORT_COUNTS = "Counts array must have a length of at least %d.";
+  private static final VarHandle LANES =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final int LANE_COUNT = Long.BYTES;
+  private static final long LOW_BITS = 0x0101_0101_0101_0101L;
+  private static final long HIGH_BITS = 0x8080_8080_8080_8080L;
+  private static final int WORDS_PER_BLOCK = 512;
+
+  private final int decks;
+  private final int words;
+  private final byte[][] columns;
+
+  /**
+   * Initializes the batch with the specified number of decks, each in natural order.
+   *
+   * @param decks number of decks in the batch.
+   * @throws IllegalArgumentException if {@code decks} is not positive.
+   */
+  public DealBatch(int decks) {
+    if (decks <= 0) {
+      throw new IllegalArgumentException(BAD_DECKS);
+    }
+    this.decks = decks;
+    words = (decks + LANE_COUNT - 1) / LANE_COUNT;
+    // Columns are padded to a whole number of words, so that every word read is in bounds.
+    columns = new byte[Card.COUNT][words * LANE_COUNT];
+    for (int position = 0; position < Card.COUNT; position++) {
+      Arrays.fill(columns[position], 0, decks, (byte) position);
+    }
+  }
+
+  /**
+   * Returns the number of decks in the batch.
+   */
+  public int decks() {
+    return decks;
+  }
+
+  /**
+   * Shuffles every deck in the batch, in parallel. The decks are divided into blocks of a fixed
+   * size, and each block is dealt using its own source of randomness, split from {@code rng}; since
+   * the block size does not depend on the number of processors, the decks dealt for a given batch
+   * size and root generator state are the same on every host.
+   *
+   * @param rng root source of randomness.
+   */
+  public void deal(SplittableGenerator rng) {
+    RandomGenerator[] rngs = RandomSources.split(rng, Blocks.count(words, WORDS_PER_BLOCK));
+    Blocks.forEach(words, WORDS_PER_BLOCK, (block, start, end) -> {
+      byte[] deck = new Deck().toOrdinals();
+      RandomGenerator blockRng = rngs[block];
+      int last = Math.min(decks, end * LANE_COUNT);
+      for (int d = start * LANE_COUNT; d < last; d++) {
+        Shuffler.shuffle(deck, 0, deck.length, blockRng);
+        for (int position = 0; position < Card.COUNT; position++) {
+          columns[position][d] = deck[position];
+        }
+      }
+    });
+  }
+
+  /**
+   * Returns the card dealt at the specified position from the specified deck.
+   *
+   * @param deck index of deck in the batch.
+   * @param position position in the deal order, from 0 to {@link Card#COUNT} - 1.
+   * @return {@link Card} dealt.
+   * @throws IndexOutOfBoundsException if {@code deck} or {@code position} is out of range.
+   */
+  public Card get(int deck, int position) {
+    return Card.of(columns[position][Objects.checkIndex(deck, decks)]);
+  }
+
+  /**
+   * For every deck in the batch, counts the cards in {@code cards} dealt at positions {@code
+   * from}, {@code from + step}, {@code from + 2 * step}, &hellip; (less than {@code to}), writing
+   * the count for each deck to the corresponding element of {@code counts}.
+   *
+   * @param cards set of cards to count.
+   * @param from first position in the deal order (inclusive).
+   * @param to last position in the deal order (exclusive).
+   * @param step distance between positions.
+   * @param counts destination of the count for each deck.
+   * @throws IllegalArgumentException if {@code step} is not positive, or {@code counts} is shorter
+   *                                  than the number of decks.
+   * @throws IndexOutOfBoundsException if {@code from} and {@code to} do not specify a valid range of
+   *                                   positions.
+   */
+  public void count(CardSet cards, int from, int to, int step, byte[] counts) {
+    Objects.checkFromToIndex(from, to, Card.COUNT);
+    if (step <= 0) {
+      throw new IllegalArgumentException(BAD_STEP);
+    }
+    checkCounts(counts);
+    LaneMatcher matcher = new LaneMatcher(cards);
+    Blocks.forEach(words, WORDS_PER_BLOCK, (block, start, end) -> {
+      for (int word = start; word < end; word++) {
+        int offset = word * LANE_COUNT;
+        long total = 0;
+        for (int position = from; position < to; position += step) {
+          total += matcher.match((long) LANES.get(columns[position], offset)) >>> 7;
+        }
+        store(counts, word, total);
+      }
+    });
+  }
+
+  /**
+   * For every deck in the batch, considers the cards dealt as consecutive pairs&mdash;positions 0
+   * and 1, 2 and 3, etc.&mdash;and counts the pairs in which the first card is in {@code first} and
+   * the second is in {@code second}, writing the count for each deck to the corresponding element
+   * of {@code counts}. For example, in the trick simulated by {@code Trick}, where the first card of
+   * each pair selects the pile to which the second is dealt, the number of red cards in the red pile
+   * (before any swap) is counted with {@code first} and {@code second} both equal to the set of red
+   * cards.
+   *
+   * @param first set of cards to match in the first position of each pair.
+   * @param second set of cards to match in the second position of each pair.
+   * @param counts destination of the count for each deck.
+   * @throws IllegalArgumentException if {@code counts} is shorter than the number of decks.
+   */
+  public void countPairs(CardSet first, CardSet second, byte[] counts) {
+    checkCounts(counts);
+    LaneMatcher firstMatcher = new LaneMatcher(first);
+    LaneMatcher secondMatcher = new LaneMatcher(second);
+    Blocks.forEach(words, WORDS_PER_BLOCK, (block, start, end) -> {
+      for (int word = start; word < end; word++) {
+        int offset = word * LANE_COUNT;
+        long total = 0;
+        for (int position = 0; position + 1 < Card.COUNT; position += 2) {
+          long selected = firstMatcher.match((long) LANES.get(columns[position], offset));
+          long matched = secondMatcher.match((long) LANES.get(columns[position + 1], offset));
+          total += (selected & matched) >>> 7;
+        }
+        store(counts, word, total);
+      }
+    });
+  }
+
+  private void checkCounts(byte[] counts) {
+    if (counts.length < decks) {
+      throw new IllegalArgumentException(String.format(SHORT_COUNTS, decks));
+    }
+  }
+
+  /**
+   * Stores the 8 per-lane counts accumulated in {@code total} in the corresponding elements of
+   * {@code counts}, omitting any padding lanes beyond the last deck.
+   */
+  private void store(byte[] counts, int word, long total) {
+    int offset = word * LANE_COUNT;
+    if (offset + LANE_COUNT <= decks) {
+      LANES.set(counts, offset, total);
+    } else {
+      for (int lane = 0; offset + lane < decks; lane++) {
+        counts[offset + lane] = (byte) (total >>> (lane * Byte.SIZE));
+      }
+    }
+  }
+
+  /**
+   * Tests all 8 byte lanes of a word for membership in a {@link CardSet}, as the union of runs of
+   * consecutive ordinals. Since every ordinal is less than 128, adding {@code 128 - c} to a lane
+   * sets its high bit if and only if the lane value is at least {@code c}, and never carries into
+   * the next lane.
+   */
+  private static class LaneMatcher {
+
+    private final long[] lowAddends;
+    private final long[] highAddends;
+
+    LaneMatcher(CardSet cards) {
+      long bits = cards.bits();
+      int runs = Long.bitCount(bits & ~(bits << 1));
+      lowAddends = new long[runs];
+      highAddends = new long[runs];
+      for (int run = 0; bits != 0; run++) {
+        int low = Long.numberOfTrailingZeros(bits);
+        int high = Long.numberOfTrailingZeros(~(bits >>> low)) + low;
+        lowAddends[run] = (0x80 - low) * LOW_BITS;
+        highAddends[run] = (0x80 - high) * LOW_BITS;
+        bits &= -1L << high;
+      }
+    }
+
+    /**
+     * Returns a word in which the high bit of each lane is set if and only if the corresponding
+     * lane of {@code lanes} is in the set; all other bits are clear.
+     */
+    long match(long lanes) {
+      long matches = 0;
+      for (int run = 0; run < lowAddends.length; run++) {
+        matches |= (lanes + lowAddends[run]) & ~(lanes + highAddends[run]);
+      }
+      return matches & HIGH_BITS;
+    }
+
+  }
+
+}
@@ -0,0 +1,172 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Declares the Java Flight Recorder events emitted by {@link Stock} operations, so that dealing
+ * stalls can be correlated, in a recording, with garbage collection, blocking on entropy (e.g. by
+ * {@link java.security.SecureRandom}), etc. Each event is timed from {@link Event#begin()} to
+ * {@link Event#commit()}; the remaining fields are only computed if {@link Event#shouldCommit()}
+ * returns {@code true}.
+ *
+ * <p>Events are created by the {@code begin} factory methods of this class, which return {@code
+ * null}&mdash;without allocating an event object&mdash;when the event type is not enabled in any
+ * running recording. Thus, when no recording is running, the cost of an operation's event is a
+ * check of the enabled state of its event type, and the operation remains allocation-free,
+ * without relying on the JIT compiler to eliminate an unused event.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+final class DealEvents {
+
+  private static final String CATEGORY = "Cards";
+  private static final EventType SHUFFLE = EventType.getEventType(ShuffleEvent.class);
+  private static final EventType RESHUFFLE = EventType.getEventType(ReshuffleEvent.class);
+  private static final EventType GATHER = EventType.getEventType(GatherEvent.class);
+  private static final EventType DEAL = EventType.getEventType(DealEvent.class);
+
+  private DealEvents() {
+    // Non-instantiable holder class.
+  }
+
+  /**
+   * Returns a new, begun {@link ShuffleEvent}, or {@code null} if that event is not enabled.
+   */
+  static ShuffleEvent beginShuffle() {
+    ShuffleEvent event = null;
+    if (SHUFFLE.isEnabled()) {
+      event = new ShuffleEvent();
+      event.begin();
+    }
+    return event;
+  }
+
+  /**
+   * Returns a new, begun {@link ReshuffleEvent}, or {@code null} if that event is not enabled.
+   */
+  static ReshuffleEvent beginReshuffle() {
+    ReshuffleEvent event = null;
+    if (RESHUFFLE.isEnabled()) {
+      event = new ReshuffleEvent();
+      event.begin();
+    }
+    return event;
+  }
+
+  /**
+   * Returns a new, begun {@link GatherEvent}, or {@code null} if that event is not enabled.
+   */
+  static GatherEvent beginGather() {
+    GatherEvent event = null;
+    if (GATHER.isEnabled()) {
+      event = new GatherEvent();
+      event.begin();
+    }
+    return event;
+  }
+
+  /**
+   * Returns a new, begun {@link DealEvent}, or {@code null} if that event is not enabled.
+   */
+  static DealEvent beginDeal() {
+    DealEvent event = null;
+    if (DEAL.isEnabled()) {
+      event = new DealEvent();
+      event.begin();
+    }
+    return event;
+  }
+
+  @Name("edu.cnm.deepdive.Shuffle")
+  @Label("Shuffle")
+  @Category(CATEGORY)
+  @Description("Shuffle of a deck or shoe")
+  static final class ShuffleEvent extends Event {
+
+    @Label("Stock Type")
+    String stock;
+
+    @Label("Cards Shuffled")
+    int cards;
+
+    @Label("Decks")
+    @Description("Number of 52-card decks' worth of cards held by the stock")
+    int decks;
+
+    @Label("Random Generator Type")
+    String rng;
+
+    @Label("Lazy")
+    @Description("Whether the shuffle is deferred, and performed as cards are drawn")
+    boolean lazy;
+
+  }
+
+  @Name("edu.cnm.deepdive.Reshuffle")
+  @Label("Reshuffle")
+  @Category(CATEGORY)
+  @Description("Automatic reshuffle of a shoe on reaching its reshuffle trigger point")
+  static final class ReshuffleEvent extends Event {
+
+    @Label("Cards Remaining")
+    @Description("Number of cards remaining in the shoe when the reshuffle was triggered")
+    int remaining;
+
+    @Label("Reshuffle Trigger")
+    int trigger;
+
+    @Label("Decks")
+    @Description("Number of 52-card decks' worth of cards held by the shoe")
+    int decks;
+
+  }
+
+  @Name("edu.cnm.deepdive.Gather")
+  @Label("Gather")
+  @Category(CATEGORY)
+  @Description("Return of drawn cards to a deck or shoe")
+  static final class GatherEvent extends Event {
+
+    @Label("Stock Type")
+    String stock;
+
+    @Label("Cards Gathered")
+    int cards;
+
+  }
+
+  @Name("edu.cnm.deepdive.Deal")
+  @Label("Deal")
+  @Category(CATEGORY)
+  @Description("Bulk draw of cards from a deck or shoe")
+  static final class DealEvent extends Event {
+
+    @Label("Stock Type")
+    String stock;
+
+    @Label("Cards Drawn")
+    int cards;
+
+  }
+
+}
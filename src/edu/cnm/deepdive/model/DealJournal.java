@@ -0,0 +1,289 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only journal of the cards drawn from (and the gathers and shuffles of) any number of
+ * {@link Stock} instances, held in a memory-mapped file. A journal is attached to a stock with
+ * {@link Stock#setJournal(DealJournal, int)}; thereafter, every card drawn, every {@link
+ * Stock#gather() gather}, and every shuffle is recorded, tagged with the identifier assigned to the
+ * stock when the journal was attached.
+ *
+ * <p>The file consists of a 16-byte header, followed by fixed-size (16-byte) records, each holding
+ * the stock identifier, the shuffle epoch (the number of shuffles of the stock since the journal
+ * was attached), the sequence number (the position of a drawn card among those drawn since the most
+ * recent gather, or the number of cards gathered), and finally a word combining the record type
+ * and card ordinal. Appending a record reserves a slot with a single atomic increment&mdash;so any
+ * number of threads may append concurrently, without locking&mdash;writes the fields directly to
+ * the mapped file, and then publishes the record by writing its final word (which is never zero)
+ * with release semantics. Since slots may be published out of order, a slot with a zero final word
+ * is a hole (reserved, but not yet&mdash;or, after a crash, never&mdash;written), rather than the
+ * end of the journal; readers skip such holes.</p>
+ *
+ * <p>The capacity of a journal (in records) is fixed when it is opened; when that capacity is
+ * exhausted, further appends fail with an {@link IllegalStateException}. A {@link Stock} reserves
+ * the slots for the records of each operation before modifying its contents, so if the journal is
+ * full, the operation fails without drawing, gathering, or shuffling any cards. An existing journal
+ * may be reopened, in which case appending resumes after the last published record.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class DealJournal implements Closeable {
+
+  /** Magic number identifying a journal file (the ASCII characters {@code "CDJL"}). */
+  public static final int MAGIC = 0x43444A4C;
+  /** Current journal format version. */
+  public static final int VERSION = 1;
+  /** Size of each journal record, in bytes. */
+  public static final int RECORD_SIZE = 16;
+
+  static final int DRAW = 1;
+  static final int GATHER = 2;
+  static final int SHUFFLE = 3;
+
+  private static final int HEADER_SIZE = 16;
+  private static final int EPOCH_OFFSET = 4;
+  private static final int SEQUENCE_OFFSET = 8;
+  private static final int MARKER_OFFSET = 12;
+  private static final int TYPE_SHIFT = 8;
+  private static final int ORDINAL_MASK = 0xff;
+  private static final long MAX_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+  private static final String BAD_CAPACITY = "Capacity must be between 1 and %d records.";
+  private static final String BAD_FILE = "File is not a compatible deal journal.";
+  private static final String FULL = "Deal journal is full.";
+  private static final VarHandle ints =
+      MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final long capacity;
+  private final AtomicLong next;
+
+  private DealJournal(FileChannel channel, MappedByteBuffer buffer, long capacity, long size) {
+    this.channel = channel;
+    this.buffer = buffer;
+    this.capacity = capacity;
+    next = new AtomicLong(size);
+  }
+
+  /**
+   * Opens (creating, if necessary) the journal file at {@code path}, with the specified capacity.
+   * If the file already contains a journal, appending resumes after its last published record;
+   * any holes before that record are left unwritten.
+   *
+   * @param path location of journal file.
+   * @param capacity maximum number of records.
+   * @return open journal.
+   * @throws IOException if the file cannot be opened or mapped.
+   * @throws IllegalArgumentException if {@code capacity} is out of range, or the file exists but is
+   *                                  not a compatible journal.
+   */
+  public static DealJournal open(Path path, long capacity) throws IOException {
+    if (capacity < 1 || capacity > MAX_RECORDS) {
+      throw new IllegalArgumentException(String.format(BAD_CAPACITY, MAX_RECORDS));
+    }
+    FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      boolean existing = channel.size() > 0;
+      long length = Math.max(HEADER_SIZE + capacity * RECORD_SIZE, channel.size());
+      MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, length);
+      if (existing) {
+        checkHeader(buffer);
+      } else {
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE);
+      }
+      long records = (length - HEADER_SIZE) / RECORD_SIZE;
+      return new DealJournal(channel, buffer, records, count(buffer, records));
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Replays the history of the stock with the specified identifier, as recorded in the journal file
+   * at {@code path}, passing each record, in order, to {@code listener}. Holes (see {@link
+   * DealJournal}) are skipped.
+   *
+   * @param path location of journal file.
+   * @param id identifier of stock.
+   * @param listener recipient of records.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the file is not a compatible journal.
+   */
+  public static void replay(Path path, int id, Listener listener) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      checkHeader(buffer);
+      long records = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+      for (long slot = 0; slot < records; slot++) {
+        int offset = offset(slot);
+        int marker = (int) ints.getAcquire(buffer, offset + MARKER_OFFSET);
+        if (marker != 0 && buffer.getInt(offset) == id) {
+          int epoch = buffer.getInt(offset + EPOCH_OFFSET);
+          int sequence = buffer.getInt(offset + SEQUENCE_OFFSET);
+          switch (marker >>> TYPE_SHIFT) {
+            case DRAW:
+              listener.onDraw(epoch, sequence, Card.of(marker & ORDINAL_MASK));
+              break;
+            case GATHER:
+              listener.onGather(epoch, sequence);
+              break;
+            case SHUFFLE:
+              listener.onShuffle(epoch);
+              break;
+            default:
+              throw new IllegalArgumentException(BAD_FILE);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the number of records appended (or reserved by appends in progress).
+   */
+  public long size() {
+    return Math.min(next.get(), capacity);
+  }
+
+  /**
+   * Returns the maximum number of records.
+   */
+  public long capacity() {
+    return capacity;
+  }
+
+  /**
+   * Forces any records appended to be written to the storage device.
+   */
+  public void force() {
+    buffer.force();
+  }
+
+  /**
+   * Forces any records appended to be written to the storage device, and closes the file.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      force();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Reserves {@code count} consecutive slots with a single atomic operation, returning the first;
+   * the records are then written, in any order, with {@link #write(long, int, int, int, int, int)}.
+   * A reservation that fails still advances the slot counter past the capacity, so once any
+   * reservation fails, all subsequent reservations fail as well.
+   *
+   * @throws IllegalStateException if fewer than {@code count} slots remain.
+   */
+  long reserve(int count) {
+    long slot = next.getAndAdd(count);
+    if (slot + count > capacity) {
+      throw new IllegalStateException(FULL);
+    }
+    return slot;
+  }
+
+  void write(long slot, int id, int epoch, int sequence, int type, int ordinal) {
+    int offset = offset(slot);
+    buffer.putInt(offset, id)
+        .putInt(offset + EPOCH_OFFSET, epoch)
+        .putInt(offset + SEQUENCE_OFFSET, sequence);
+    ints.setRelease(buffer, offset + MARKER_OFFSET, (type << TYPE_SHIFT) | ordinal);
+  }
+
+  private static int offset(long slot) {
+    return (int) (HEADER_SIZE + slot * RECORD_SIZE);
+  }
+
+  private static void checkHeader(ByteBuffer buffer) {
+    if (buffer.capacity() < HEADER_SIZE
+        || buffer.getInt(0) != MAGIC
+        || buffer.getInt(4) != VERSION
+        || buffer.getInt(8) != RECORD_SIZE) {
+      throw new IllegalArgumentException(BAD_FILE);
+    }
+  }
+
+  /**
+   * Returns the number of slots up to and including the last published record, scanning backward
+   * from the end, so that appends after reopening never overwrite a record published beyond a
+   * hole.
+   */
+  private static long count(ByteBuffer buffer, long records) {
+    long count = records;
+    while (count > 0 && (int) ints.getAcquire(buffer, offset(count - 1) + MARKER_OFFSET) == 0) {
+      count--;
+    }
+    return count;
+  }
+
+  /**
+   * Recipient of the records of a single stock, as replayed by {@link #replay(Path, int,
+   * Listener)}.
+   */
+  public interface Listener {
+
+    /**
+     * Invoked for each card drawn.
+     *
+     * @param epoch number of shuffles of the stock preceding the draw.
+     * @param sequence position of the card among those drawn since the most recent gather.
+     * @param card card drawn.
+     */
+    void onDraw(int epoch, int sequence, Card card);
+
+    /**
+     * Invoked for each gather. The default implementation does nothing.
+     *
+     * @param epoch number of shuffles of the stock preceding the gather.
+     * @param count number of drawn cards gathered.
+     */
+    default void onGather(int epoch, int count) {
+    }
+
+    /**
+     * Invoked for each shuffle. The default implementation does nothing.
+     *
+     * @param epoch number of shuffles of the stock, including this one.
+     */
+    default void onShuffle(int epoch) {
+    }
+
+  }
+
+}
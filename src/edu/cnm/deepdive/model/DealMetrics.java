@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects operational metrics for one or more {@link Stock} instances (e.g. {@link Deck} or
+ * {@link Shoe}) to which it is attached (see {@link Stock#setMetrics(DealMetrics)}): counts of
+ * cards drawn, gathers, shuffles, and automatic reshuffles (see {@link Shoe#start()}), and the
+ * distributions of shuffle and bulk deal latencies, in nanoseconds. Counts are held in {@link
+ * LongAdder} instances, and latencies in {@link LatencyHistogram} instances, so a single instance
+ * may be shared by stocks used on many threads without contention. A stock with no metrics
+ * attached pays only for a {@code null} check per operation.
+ *
+ * <p>Since reading the clock costs far more than drawing a single card, only bulk draws (e.g.
+ * {@link Stock#draw(int)} and {@link Stock#drawInto(Card[], int, int)}) are timed; single-card
+ * draws are only counted.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class DealMetrics {
+
+  private final LongAdder draws = new LongAdder();
+  private final LongAdder gathers = new LongAdder();
+  private final LongAdder shuffles = new LongAdder();
+  private final LongAdder reshuffles = new LongAdder();
+  private final LatencyHistogram shuffleLatency = new LatencyHistogram();
+  private final LatencyHistogram dealLatency = new LatencyHistogram();
+
+  /**
+   * Returns a snapshot of the metrics collected so far. Since operations may be recorded
+   * concurrently, the snapshot is not atomic.
+   *
+   * @return snapshot of metrics.
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(this);
+  }
+
+  void recordDraw() {
+    draws.increment();
+  }
+
+  void recordDeal(int count, long nanos) {
+    draws.add(count);
+    dealLatency.record(nanos);
+  }
+
+  void recordGather() {
+    gathers.increment();
+  }
+
+  void recordShuffle(long nanos) {
+    shuffles.increment();
+    shuffleLatency.record(nanos);
+  }
+
+  void recordReshuffle() {
+    reshuffles.increment();
+  }
+
+  /**
+   * Immutable snapshot of the metrics collected by a {@link DealMetrics} instance.
+   */
+  public static final class Snapshot {
+
+    private final long draws;
+    private final long gathers;
+    private final long shuffles;
+    private final long reshuffles;
+    private final LatencyHistogram.Snapshot shuffleLatency;
+    private final LatencyHistogram.Snapshot dealLatency;
+
+    private Snapshot(DealMetrics metrics) {
+      draws = metrics.draws.sum();
+      gathers = metrics.gathers.sum();
+      shuffles = metrics.shuffles.sum();
+      reshuffles = metrics.reshuffles.sum();
+      shuffleLatency = metrics.shuffleLatency.snapshot();
+      dealLatency = metrics.dealLatency.snapshot();
+    }
+
+    /**
+     * Returns the number of cards drawn, whether singly or in bulk.
+     */
+    public long getDraws() {
+      return draws;
+    }
+
+    /**
+     * Returns the number of times drawn cards were gathered back into a stock.
+     */
+    public long getGathers() {
+      return gathers;
+    }
+
+    /**
+     * Returns the number of shuffles, including automatic reshuffles.
+     */
+    public long getShuffles() {
+      return shuffles;
+    }
+
+    /**
+     * Returns the number of automatic reshuffles performed by {@link Shoe#start()} on reaching the
+     * reshuffle trigger point.
+     */
+    public long getReshuffles() {
+      return reshuffles;
+    }
+
+    /**
+     * Returns the distribution of shuffle latencies, in nanoseconds. (For a lazy shuffle, only the
+     * constant-time setup is included; the shuffling work is performed as cards are drawn.)
+     */
+    public LatencyHistogram.Snapshot getShuffleLatency() {
+      return shuffleLatency;
+    }
+
+    /**
+     * Returns the distribution of bulk deal latencies, in nanoseconds.
+     */
+    public LatencyHistogram.Snapshot getDealLatency() {
+      return dealLatency;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "draws=%d, gathers=%d, shuffles=%d, reshuffles=%d, shuffle latency (ns): [%s], "
+              + "deal latency (ns): [%s]",
+          draws, gathers, shuffles, reshuffles, shuffleLatency, dealLatency);
+    }
+
+  }
+
+}
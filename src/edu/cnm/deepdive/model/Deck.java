@@ -16,8 +16,7 @@
 package edu.cnm.deepdive.model;
 
 import java.security.SecureRandom;
-import java.util.Collections;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Encapsulates a single deck of standard playing cards, which can be shuffled, dealt one card at a
@@ -27,24 +26,40 @@ import java.util.Random;
  */
 public class Deck extends Stock implements Shuffleable {
 
-  private Random rng;
+  private static final byte[] PROTOTYPE = new byte[Card.COUNT];
+
+  static {
+    for (int i = 0; i < Card.COUNT; i++) {
+      PROTOTYPE[i] = (byte) i;
+    }
+  }
+
+  private RandomGenerator rng;
+  private boolean lazyShuffle;
 
   /**
    * Initializes this instance with 52 cards, sorted in natural order&mdash;i.e. the order enforced
    * by the {@link Comparable Comparable&lt;Card&gt;} implementation of {@link Card}.
    */
   public Deck() {
-    for (Suit s : Suit.values()) {
-      for (Rank r : Rank.values()) {
-        add(new Card(s, r));
-      }
-    }
-    sort();
+    super(Card.COUNT);
+    load(PROTOTYPE);
+  }
+
+  /**
+   * Restores this deck to the state of a newly created instance: all 52 cards, in natural order,
+   * with none drawn and no shuffle pending. The canonical order is copied from a shared prototype,
+   * and the existing storage is reused, so a deck may be recycled between games (e.g. via {@link
+   * StockPool}) without allocation. The source of randomness, the lazy shuffle setting, and any
+   * attached {@link DealJournal} are retained.
+   */
+  public void reset() {
+    load(PROTOTYPE);
   }
 
   /**
    * Shuffles the deck, after gathering all previousy drawn/dealt cards to the deck. Invoking this
-   * method is equivalent to invoking {@link #shuffle(Random) shuffle(getRng())}.
+   * method is equivalent to invoking {@link #shuffle(RandomGenerator) shuffle(getRng())}.
    */
   @Override
   public void shuffle() {
@@ -53,7 +68,7 @@ public class Deck extends Stock implements Shuffleable {
 
   /**
    * Shuffles the deck, optionally gathering all previously drawn/dealt cards to the deck. Invoking
-   * this method is equivalent to invoking {@link #shuffle(Random, boolean)
+   * this method is equivalent to invoking {@link #shuffle(RandomGenerator, boolean)
    * shuffle(getRng(), gather)}.
    *
    * @param gather flag specifying whether previously drawn/dealt cards are returned to the deck
@@ -66,28 +81,31 @@ public class Deck extends Stock implements Shuffleable {
   /**
    * Shuffles the deck contents, after gathering any previously dealt cards to the deck, using the
    * specified source of randomness. Invoking this method is equivalent to invoking {@link
-   * #shuffle(Random, boolean) shuffle(rng, true)}.
+   * #shuffle(RandomGenerator, boolean) shuffle(rng, true)}.
    *
    * @param rng source of randomness for the shuffle.
    */
   @Override
-  public void shuffle(Random rng) {
+  public void shuffle(RandomGenerator rng) {
     shuffle(rng, true);
   }
 
   /**
    * Shuffles the deck contents, optionally gathering any previously dealt cards to the deck, and
-   * then using the specified source of randomness.
+   * then using the specified source of randomness. If lazy shuffling is enabled (see {@link
+   * #setLazyShuffle(boolean)}), the shuffle is deferred, and performed one card at a time as cards
+   * are drawn.
    *
    * @param rng source of randomness for the shuffle.
    * @param gather flag specifying whether previously drawn/dealt cards are returned to the deck
    *               before shuffling.
    */
-  public void shuffle(Random rng, boolean gather) {
+  public void shuffle(RandomGenerator rng, boolean gather) {
     if (gather) {
+      cancelShuffle();
       gather();
     }
-    Collections.shuffle(getCards(), rng);
+    shuffleCards(rng, lazyShuffle);
   }
 
   /**
@@ -99,10 +117,24 @@ public class Deck extends Stock implements Shuffleable {
    *               deck before sorting.
    */
   public void sort(boolean gather) {
+    sort(CardOrder.SUIT_RANK, gather);
+  }
+
+  /**
+   * Sorts the deck in the specified order, in linear time (see {@link CardOrder}). If {@code
+   * gather} is {@code true}, previously drawn cards are gathered back into the deck before
+   * sorting.
+   *
+   * @param order ordering of cards.
+   * @param gather flag specifying whether previously dealt cards should be gathered back into the
+   *               deck before sorting.
+   */
+  public void sort(CardOrder order, boolean gather) {
     if (gather) {
+      cancelShuffle();
       gather();
     }
-    Collections.sort(getCards());
+    sortCards(order);
   }
 
   /**
@@ -116,6 +148,32 @@ public class Deck extends Stock implements Shuffleable {
     sort(true);
   }
 
+  /**
+   * Sets a flag specifying whether subsequent shuffles are performed lazily. In lazy mode, a
+   * shuffle takes constant time: it merely resets the state of the deck, and each subsequent
+   * {@link #draw()} performs a single step of the Fisher&ndash;Yates algorithm, swapping a card
+   * selected at random from those remaining to the top of the deck before drawing it. The total
+   * cost is thus proportional to the number of cards actually drawn, while the distribution of
+   * orderings is identical to that of a full shuffle. (Any operation that exposes the order of the
+   * cards remaining, such as iteration, completes the shuffle first.)
+   *
+   * @param lazyShuffle {@code true} to shuffle lazily; {@code false} (the default) to shuffle
+   *                    immediately.
+   */
+  public void setLazyShuffle(boolean lazyShuffle) {
+    this.lazyShuffle = lazyShuffle;
+  }
+
+  /**
+   * Returns {@code true} if shuffles are performed lazily. (See {@link
+   * #setLazyShuffle(boolean)}.)
+   *
+   * @return lazy shuffle flag.
+   */
+  public boolean isLazyShuffle() {
+    return lazyShuffle;
+  }
+
   /**
    * Sets the source of randomness that will be used by {@link #shuffle(boolean)} and {@link
    * #shuffle()}&mdash;that is, those overloads that do not include a parameter for a source of
@@ -123,20 +181,20 @@ public class Deck extends Stock implements Shuffleable {
    *
    * @param rng fallback source of randomness.
    */
-  public void setRng(Random rng) {
+  public void setRng(RandomGenerator rng) {
     this.rng = rng;
   }
 
   /**
    * Returns the source of randomness that will be used by {@link #shuffle(boolean)} and {@link
-   * #shuffle()}. If {@link #setRng(Random)} has not yet been invoked to set the source of
+   * #shuffle()}. If {@link #setRng(RandomGenerator)} has not yet been invoked to set the source of
    * randomness, an instance of {@link SecureRandom} will be created and returned by this and
    * subsequent invocations.
    *
    * @return fallback source of randomness.
    */
   @Override
-  public Random getRng() {
+  public RandomGenerator getRng() {
     if (rng == null) {
       rng = new SecureRandom();
     }
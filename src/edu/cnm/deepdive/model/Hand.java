@@ -20,10 +20,38 @@ package edu.cnm.deepdive.model;
  * game. This class is defined primarily to add the constraint that hands in card games are
  * virtually always comparable&mdash;that is, one hand can be compared to another, for
  * ordering/competition purposes. Concrete subclasses of this class must have include (or inherit)
- * implementations of {@link Comparable Comparable&lt;Card&gt;}.
+ * implementations of {@link Comparable Comparable&lt;Hand&gt;}. (A subclass may throw {@link
+ * ClassCastException} when compared to a hand of a different kind.)
  *
  * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
  */
-public abstract class Hand extends Pile implements Comparable<Card> {
+public abstract class Hand extends Pile implements Comparable<Hand> {
+
+  /**
+   * Initializes this instance as an empty hand.
+   */
+  protected Hand() {
+    super();
+  }
+
+  /**
+   * Initializes this instance as an empty hand, with sufficient initial capacity for the specified
+   * number of cards.
+   *
+   * @param capacity initial capacity.
+   */
+  protected Hand(int capacity) {
+    super(capacity);
+  }
+
+  /**
+   * Sorts the cards in this hand in the specified order, in linear time and without allocation
+   * (see {@link CardOrder}).
+   *
+   * @param order ordering of cards.
+   */
+  public void sort(CardOrder order) {
+    sortCards(order);
+  }
 
 }
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the distribution of operation latencies (or any other non-negative {@code long} values),
+ * in 64 buckets of exponentially increasing width: bucket 0 holds the value 0, and bucket {@code i}
+ * (for {@code i} &gt; 0) holds values from 2<sup>{@code i}-1</sup> to 2<sup>{@code i}</sup> - 1,
+ * inclusive. Recording a value is lock-free&mdash;a single atomic increment of the bucket, plus
+ * updates of a striped total and maximum&mdash;so an instance may be shared by any number of
+ * threads.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class LatencyHistogram {
+
+  /** Number of buckets in the histogram. */
+  public static final int BUCKETS = Long.SIZE;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records {@code value} in the histogram. Negative values (e.g. from a non-monotonic clock) are
+   * recorded as 0.
+   *
+   * @param value latency (typically in nanoseconds).
+   */
+  public void record(long value) {
+    value = Math.max(value, 0);
+    counts.getAndIncrement(bucket(value));
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Returns a snapshot of the current contents of the histogram. Since values may be recorded
+   * concurrently, the snapshot is not atomic; however, every value recorded before this method is
+   * invoked is included.
+   *
+   * @return snapshot of histogram.
+   */
+  public Snapshot snapshot() {
+    long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+    }
+    return new Snapshot(snapshot, total.sum(), max.get());
+  }
+
+  /**
+   * Returns the index of the bucket holding {@code value}.
+   *
+   * @param value non-negative value.
+   * @return bucket index, from 0 to {@link #BUCKETS} - 1.
+   */
+  static int bucket(long value) {
+    return Long.SIZE - Long.numberOfLeadingZeros(value);
+  }
+
+  /**
+   * Immutable snapshot of the contents of a {@link LatencyHistogram}.
+   */
+  public static final class Snapshot {
+
+    private static final String BAD_QUANTILE = "Quantile must be between 0 and 1, inclusive.";
+
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long max;
+
+    private Snapshot(long[] counts, long total, long max) {
+      this.counts = counts;
+      long count = 0;
+      for (long bucketCount : counts) {
+        count += bucketCount;
+      }
+      this.count = count;
+      this.total = total;
+      this.max = max;
+    }
+
+    /**
+     * Returns the number of values recorded.
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Returns the sum of the values recorded.
+     */
+    public long getTotal() {
+      return total;
+    }
+
+    /**
+     * Returns the mean of the values recorded, or 0 if none have been recorded.
+     */
+    public double getMean() {
+      return (count > 0) ? (double) total / count : 0;
+    }
+
+    /**
+     * Returns the largest value recorded, or 0 if none have been recorded.
+     */
+    public long getMax() {
+      return max;
+    }
+
+    /**
+     * Returns an upper bound on the specified quantile of the values recorded: the upper limit of
+     * the bucket in which the quantile falls, or the largest value recorded, if that is smaller.
+     *
+     * @param quantile quantile, from 0 to 1, inclusive (e.g. 0.99 for the 99th percentile).
+     * @return upper bound on quantile, or 0 if no values have been recorded.
+     * @throws IllegalArgumentException if {@code quantile} is not between 0 and 1.
+     */
+    public long getQuantile(double quantile) {
+      if (!(quantile >= 0 && quantile <= 1)) {
+        throw new IllegalArgumentException(BAD_QUANTILE);
+      }
+      long rank = (long) Math.ceil(quantile * count);
+      long cumulative = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        cumulative += counts[i];
+        if (cumulative >= rank && cumulative > 0) {
+          long limit = (i < BUCKETS - 1) ? (1L << i) - 1 : Long.MAX_VALUE;
+          return Math.min(limit, max);
+        }
+      }
+      return 0;
+    }
+
+    /**
+     * Returns the number of values recorded in the specified bucket (see {@link
+     * LatencyHistogram}).
+     *
+     * @param bucket bucket index, from 0 to {@link #BUCKETS} - 1.
+     * @return count of values in bucket.
+     */
+    public long getBucketCount(int bucket) {
+      return counts[bucket];
+    }
+
+    @Override
+    public String toString() {
+      return String.format("count=%d, mean=%.1f, p50=%d, p99=%d, max=%d",
+          count, getMean(), getQuantile(0.5), getQuantile(0.99), max);
+    }
+
+  }
+
+}
@@ -15,10 +15,22 @@
  */
 package edu.cnm.deepdive.model;
 
-import java.util.ArrayList;
+import edu.cnm.deepdive.model.Suit.Color;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Abstract class representing an ordered collection of {@link Card} instances, which can be added
@@ -26,17 +38,49 @@ import java.util.List;
  * also provided for access to and operations on the underlying collection, intended for invocation
  * by concrete subclasses.
  *
+ * <p>Internally, the cards are stored as a primitive array of card ordinals (see {@link
+ * Card#ordinal()}), with a cursor marking the first (top) card in the pile. Removing the top card
+ * simply advances the cursor, so that it takes constant time, regardless of the size of the
+ * pile.</p>
+ *
+ * <p>A shuffle of the pile may be performed <em>lazily</em> (see {@link
+ * #shuffleCards(RandomGenerator, boolean)}): rather than permuting all of the cards up front, each card removed from the top of
+ * the pile is first swapped with a card selected at random from those remaining&mdash;i.e. one step
+ * of the Fisher&ndash;Yates algorithm is performed per removal. Any operation that observes the
+ * order of the cards remaining in the pile completes the pending shuffle first, so the lazy mode is
+ * indistinguishable from an up-front shuffle, except in its cost.</p>
+ *
  * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
  */
 public abstract class Pile implements Iterable<Card> {
 
-  private final List<Card> cards;
+  private static final int DEFAULT_CAPACITY = Card.COUNT;
+  private static final String BAD_STATE = "Encoded pile state is invalid.";
+
+  private byte[] cards;
+  private int head;
+  private int tail;
+  private RandomGenerator pending;
+  private int[] sortCounts;
+  private final Composition remaining = new Composition();
+  private final Composition removed = new Composition();
 
   /**
    * Initializes this instance with an empty ordered collection of {@link Card} instances.
    */
   protected Pile() {
-    cards = new ArrayList<>();
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Initializes this instance with an empty ordered collection of {@link Card} instances, with
+   * sufficient initial capacity for the specified number of cards. (The capacity will be increased
+   * as necessary when cards are added.)
+   *
+   * @param capacity initial capacity.
+   */
+  protected Pile(int capacity) {
+    cards = new byte[Math.max(capacity, 1)];
   }
 
   /**
@@ -53,7 +97,11 @@ public abstract class Pile implements Iterable<Card> {
    * @param card {@link Card} instance to be added to the pile.
    */
   public void add(Card card) {
-    cards.add(card);
+    settle();
+    ensureCapacity(1);
+    int ordinal = card.ordinal();
+    cards[tail++] = (byte) ordinal;
+    remaining.add(ordinal);
   }
 
   /**
@@ -62,12 +110,116 @@ public abstract class Pile implements Iterable<Card> {
    * @return count of cards in the pile.
    */
   public int size() {
-    return cards.size();
+    return tail - head;
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Suit} in this pile. Counts by suit, rank,
+   * and color are maintained incrementally as cards are added and removed, so this method simply
+   * reads a counter.
+   *
+   * @param suit {@link Suit} of cards to count.
+   * @return count of cards of {@code suit} in the pile.
+   */
+  public int count(Suit suit) {
+    return remaining.suits[suit.ordinal()];
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Rank} in this pile (see {@link
+   * #count(Suit)}).
+   *
+   * @param rank {@link Rank} of cards to count.
+   * @return count of cards of {@code rank} in the pile.
+   */
+  public int count(Rank rank) {
+    return remaining.ranks[rank.ordinal()];
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Color} in this pile (see {@link
+   * #count(Suit)}).
+   *
+   * @param color {@link Color} of cards to count.
+   * @return count of cards of {@code color} in the pile.
+   */
+  public int count(Color color) {
+    return remaining.count(color);
   }
 
   @Override
   public Iterator<Card> iterator() {
-    return cards.iterator();
+    settle();
+    return new Iterator<>() {
+
+      private int position = head;
+
+      @Override
+      public boolean hasNext() {
+        return position < tail;
+      }
+
+      @Override
+      public Card next() {
+        if (position >= tail) {
+          throw new NoSuchElementException();
+        }
+        return Card.of(cards[position++]);
+      }
+
+    };
+  }
+
+  /**
+   * Performs the specified action on each card in the pile, in order, reading the underlying
+   * storage directly (i.e. without creating an {@link Iterator}).
+   *
+   * @param action operation to perform on each card.
+   */
+  @Override
+  public void forEach(Consumer<? super Card> action) {
+    settle();
+    for (int i = head; i < tail; i++) {
+      action.accept(Card.of(cards[i]));
+    }
+  }
+
+  /**
+   * Returns a {@link Spliterator} over the cards in the pile, in order, reading the underlying
+   * storage directly. The spliterator is {@link Spliterator#SIZED SIZED} and {@link
+   * Spliterator#SUBSIZED SUBSIZED}, and splits its range of positions in half, so that a parallel
+   * stream over a large pile (e.g. a multi-deck {@link Shoe}) is partitioned evenly.
+   *
+   * <p>The range of cards covered is fixed when this method is invoked: cards subsequently added
+   * to or removed from the pile are not reflected, so the spliterator is reported as {@link
+   * Spliterator#IMMUTABLE IMMUTABLE}. However, the pile must not be shuffled or sorted while the
+   * spliterator is in use.</p>
+   *
+   * @return spliterator over cards.
+   */
+  @Override
+  public Spliterator<Card> spliterator() {
+    settle();
+    return new OrdinalSpliterator(cards, head, tail);
+  }
+
+  /**
+   * Returns a sequential {@link Stream} of the cards in the pile, in order (see {@link
+   * #spliterator()}).
+   *
+   * @return stream of cards.
+   */
+  public Stream<Card> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a parallel {@link Stream} of the cards in the pile (see {@link #spliterator()}).
+   *
+   * @return parallel stream of cards.
+   */
+  public Stream<Card> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
   }
 
   /**
@@ -79,7 +231,12 @@ public abstract class Pile implements Iterable<Card> {
    */
   @Override
   public int hashCode() {
-    return cards.hashCode();
+    settle();
+    int hash = 1;
+    for (int i = head; i < tail; i++) {
+      hash = 31 * hash + cards[i];
+    }
+    return hash;
   }
 
   /**
@@ -93,14 +250,29 @@ public abstract class Pile implements Iterable<Card> {
    */
   @Override
   public boolean equals(Object obj) {
-    return (obj == this
-        || (obj instanceof Pile
-            && cards.equals(((Pile) obj).cards)));
+    boolean comparison = false;
+    if (obj == this) {
+      comparison = true;
+    } else if (obj instanceof Pile) {
+      Pile other = (Pile) obj;
+      settle();
+      other.settle();
+      comparison = Arrays.equals(cards, head, tail, other.cards, other.head, other.tail);
+    }
+    return comparison;
   }
 
   @Override
   public String toString() {
-    return cards.toString();
+    settle();
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = head; i < tail; i++) {
+      if (i > head) {
+        builder.append(", ");
+      }
+      builder.append(Card.of(cards[i]));
+    }
+    return builder.append(']').toString();
   }
 
   /**
@@ -119,7 +291,30 @@ public abstract class Pile implements Iterable<Card> {
    * @param cards cards to be added to this pile.
    */
   protected void addAll(Collection<Card> cards) {
-    this.cards.addAll(cards);
+    settle();
+    ensureCapacity(cards.size());
+    for (Card card : cards) {
+      int ordinal = card.ordinal();
+      this.cards[tail++] = (byte) ordinal;
+      remaining.add(ordinal);
+    }
+  }
+
+  /**
+   * Adds the cards in the specified {@link Pile} (not including any previously removed from that
+   * pile) to this pile, in order, with a single array copy. The contents of {@code pile} are not
+   * modified.
+   *
+   * @param pile source of cards to be added to this pile.
+   */
+  protected void addAll(Pile pile) {
+    int count = pile.size();
+    settle();
+    pile.settle();
+    ensureCapacity(count);
+    System.arraycopy(pile.cards, pile.head, cards, tail, count);
+    remaining.addAll(pile.remaining);
+    tail += count;
   }
 
   /**
@@ -129,15 +324,550 @@ public abstract class Pile implements Iterable<Card> {
    * @return first (presumably top) {@link Card} in the pile, or {@code null} if there are none.
    */
   protected Card remove() {
-    return cards.isEmpty() ? null : cards.remove(0);
+    Card card = null;
+    if (head < tail) {
+      advanceShuffle(1);
+      int ordinal = cards[head++];
+      remaining.remove(ordinal);
+      removed.add(ordinal);
+      card = Card.of(ordinal);
+    }
+    return card;
+  }
+
+  /**
+   * Removes up to {@code len} cards from the top of the pile, copying their ordinals, in order, to
+   * {@code dst}, starting at {@code off}.
+   *
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to remove.
+   * @return number of cards removed (less than {@code len} only if the pile is exhausted).
+   */
+  int removeOrdinals(byte[] dst, int off, int len) {
+    Objects.checkFromIndexSize(off, len, dst.length);
+    int count = Math.min(len, tail - head);
+    advanceShuffle(count);
+    System.arraycopy(cards, head, dst, off, count);
+    transferRemoved(count);
+    return count;
+  }
+
+  /**
+   * Removes up to {@code len} cards from the top of the pile, copying their ordinals, in order, to
+   * {@code dst}, starting at {@code off}.
+   *
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to remove.
+   * @return number of cards removed (less than {@code len} only if the pile is exhausted).
+   */
+  int removeOrdinals(int[] dst, int off, int len) {
+    Objects.checkFromIndexSize(off, len, dst.length);
+    int count = Math.min(len, tail - head);
+    advanceShuffle(count);
+    for (int i = 0; i < count; i++) {
+      dst[off + i] = cards[head + i];
+    }
+    transferRemoved(count);
+    return count;
+  }
+
+  /**
+   * Removes up to {@code len} cards from the top of the pile, placing them, in order, in {@code
+   * dst}, starting at {@code off}.
+   *
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to remove.
+   * @return number of cards removed (less than {@code len} only if the pile is exhausted).
+   */
+  int removeCards(Card[] dst, int off, int len) {
+    Objects.checkFromIndexSize(off, len, dst.length);
+    int count = Math.min(len, tail - head);
+    advanceShuffle(count);
+    for (int i = 0; i < count; i++) {
+      dst[off + i] = Card.of(cards[head + i]);
+    }
+    transferRemoved(count);
+    return count;
+  }
+
+  /**
+   * Replaces the contents of the pile with the cards whose ordinals are given in {@code ordinals},
+   * in order, with a single array copy; no removed cards are retained, and any pending lazy shuffle
+   * is discarded. The underlying storage is reused if it is large enough.
+   *
+   * @param ordinals card ordinals (see {@link Card#ordinal()}), which are not validated.
+   */
+  void load(byte[] ordinals) {
+    if (cards.length < ordinals.length) {
+      cards = new byte[ordinals.length];
+    }
+    System.arraycopy(ordinals, 0, cards, 0, ordinals.length);
+    head = 0;
+    tail = ordinals.length;
+    pending = null;
+    remaining.clear();
+    remaining.add(cards, 0, tail);
+    removed.clear();
+  }
+
+  /**
+   * Returns a copy of the ordinals of the cards in the pile, in order.
+   */
+  byte[] toOrdinals() {
+    settle();
+    return Arrays.copyOfRange(cards, head, tail);
   }
 
   /**
-   * Returns a reference to the underlying {@link List} of cards. Care should be taken when
-   * modifying the list returned, as that will modify the underlying collection.
+   * Returns a fixed-size {@link List} view of the cards in the pile. Cards in the list may be
+   * replaced or reordered (e.g. via {@link java.util.Collections#shuffle(List)}), and such
+   * modifications will modify the underlying collection; however, cards may not be added to or
+   * removed from the pile via the list.
    */
   protected List<Card> getCards() {
-    return cards;
+    settle();
+    return new OrdinalList(head, tail, true);
+  }
+
+  /**
+   * Returns {@code true} if cards removed from the top of the pile (via {@link #remove()}) should
+   * be retained in the underlying storage, ahead of the current top of the pile, so that they can
+   * later be restored via {@link #restore()}. The default implementation returns {@code false};
+   * {@link Stock} overrides this to retain its drawn cards.
+   */
+  boolean retainsRemoved() {
+    return false;
+  }
+
+  /**
+   * Returns all cards previously removed from the top of the pile (and retained in the underlying
+   * storage) to the top of the pile, in their original order, by resetting the cursor. Any pending
+   * lazy shuffle of the cards remaining in the pile is completed first.
+   */
+  void restore() {
+    settle();
+    head = 0;
+    remaining.addAll(removed);
+    removed.clear();
+  }
+
+  /**
+   * Returns the cards previously removed from the top of the pile (and retained in the underlying
+   * storage), except the {@code keep} most recently removed, to the top of the pile; the kept cards
+   * remain removed. The removed cards are rotated in place, so that the kept cards (in the order
+   * removed) precede those returned. Any pending lazy shuffle is discarded, so this is intended
+   * only for use immediately before the cards remaining in the pile are reshuffled.
+   *
+   * @param keep number of most recently removed cards to keep out of the pile.
+   */
+  void restoreExcept(int keep) {
+    pending = null;
+    reverse(0, head);
+    reverse(0, keep);
+    reverse(keep, head);
+    for (int i = keep; i < head; i++) {
+      removed.remove(cards[i]);
+      remaining.add(cards[i]);
+    }
+    head = keep;
+  }
+
+  /**
+   * Returns all cards previously removed from the top of the pile (and retained in the underlying
+   * storage) to the pile, as if each were reinserted at a uniformly random position. No cards are
+   * moved: the cursor is reset, and the entire pile is marked for lazy shuffling with {@code rng},
+   * replacing any shuffle already pending, so that each subsequent removal selects a card uniformly
+   * at random from all of the cards in the pile. This takes constant time, regardless of the number
+   * of cards reinserted.
+   *
+   * @param rng source of randomness.
+   */
+  void reinsert(RandomGenerator rng) {
+    head = 0;
+    pending = rng;
+    remaining.addAll(removed);
+    removed.clear();
+  }
+
+  /**
+   * Returns the number of cards removed from the top of the pile and retained in the underlying
+   * storage.
+   */
+  int removedCount() {
+    return head;
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Suit} removed from the top of the pile and
+   * retained in the underlying storage.
+   */
+  int removedCount(Suit suit) {
+    return removed.suits[suit.ordinal()];
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Rank} removed from the top of the pile and
+   * retained in the underlying storage.
+   */
+  int removedCount(Rank rank) {
+    return removed.ranks[rank.ordinal()];
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Color} removed from the top of the pile and
+   * retained in the underlying storage.
+   */
+  int removedCount(Color color) {
+    return removed.count(color);
+  }
+
+  /**
+   * Returns the ordinal of the card at the specified position in the underlying storage. Positions
+   * less than {@link #removedCount()} hold the cards removed from the top of the pile and retained
+   * in the storage, in the order they were removed.
+   */
+  int ordinalAt(int position) {
+    return cards[position];
+  }
+
+  /**
+   * Returns a read-only {@link List} view of the cards removed from the top of the pile and
+   * retained in the underlying storage, in the order they were removed.
+   */
+  List<Card> getRemoved() {
+    return new OrdinalList(0, head, false);
+  }
+
+  /**
+   * Returns a {@link Spliterator} over the cards removed from the top of the pile and retained in
+   * the underlying storage, in the order they were removed (see {@link #spliterator()}).
+   */
+  Spliterator<Card> removedSpliterator() {
+    return new OrdinalSpliterator(cards, 0, head);
+  }
+
+  /**
+   * Returns the number of bytes written by {@link #writeState(ByteBuffer)}.
+   */
+  int stateSize() {
+    return 2 * Integer.BYTES + (retainsRemoved() ? tail : tail - head);
+  }
+
+  /**
+   * Writes the state of the pile to {@code dst}: the number of removed cards retained in the
+   * underlying storage, the number of cards remaining, and then the ordinals of the retained and
+   * remaining cards, in storage order, one byte per card. Any pending lazy shuffle is completed
+   * first.
+   *
+   * @param dst destination buffer.
+   * @throws java.nio.BufferOverflowException if {@code dst} has fewer than {@link #stateSize()}
+   *                                          bytes remaining.
+   */
+  void writeState(ByteBuffer dst) {
+    settle();
+    int start = retainsRemoved() ? 0 : head;
+    dst.putInt(head - start)
+        .putInt(tail - head)
+        .put(cards, start, tail - start);
+  }
+
+  /**
+   * Replaces the contents of the pile with the state read from {@code src}, in the form written by
+   * {@link #writeState(ByteBuffer)}. Any pending lazy shuffle is discarded.
+   *
+   * @param src source buffer.
+   * @throws IllegalArgumentException if the encoded state is invalid.
+   * @throws BufferUnderflowException if {@code src} does not contain the complete state.
+   */
+  void readState(ByteBuffer src) {
+    int removed = src.getInt();
+    int remaining = src.getInt();
+    if (removed < 0 || remaining < 0 || (removed > 0 && !retainsRemoved())) {
+      throw new IllegalArgumentException(BAD_STATE);
+    }
+    int length = removed + remaining;
+    if (src.remaining() < length) {
+      throw new BufferUnderflowException();
+    }
+    // Read into a new array, so that the pile is unchanged if the state is invalid.
+    byte[] ordinals = new byte[Math.max(length, 1)];
+    src.get(ordinals, 0, length);
+    for (int i = 0; i < length; i++) {
+      if ((ordinals[i] & 0xff) >= Card.COUNT) {
+        throw new IllegalArgumentException(BAD_STATE);
+      }
+    }
+    cards = ordinals;
+    head = removed;
+    tail = length;
+    pending = null;
+    this.removed.clear();
+    this.removed.add(cards, 0, head);
+    this.remaining.clear();
+    this.remaining.add(cards, head, tail);
+  }
+
+  /**
+   * Shuffles the cards in the pile using the Fisher&ndash;Yates algorithm, directly on the
+   * underlying storage, drawing random values from {@code rng} in batches (see {@link
+   * Shuffler}).
+   *
+   * @param rng source of randomness.
+   */
+  void shuffleCards(RandomGenerator rng) {
+    shuffleCards(rng, false);
+  }
+
+  /**
+   * Shuffles the cards in the pile, either immediately (see {@link
+   * #shuffleCards(RandomGenerator)}) or lazily, one Fisher&ndash;Yates step per card removed. In
+   * the latter case, this method simply records {@code rng} as the source of randomness for the
+   * pending shuffle, replacing any shuffle already pending.
+   *
+   * @param rng source of randomness.
+   * @param lazy flag specifying whether the shuffle is performed lazily.
+   */
+  void shuffleCards(RandomGenerator rng, boolean lazy) {
+    pending = lazy ? rng : null;
+    if (!lazy) {
+      Shuffler.shuffle(cards, head, tail, rng);
+    }
+  }
+
+  /**
+   * Sorts the cards in the pile in natural order (see {@link Card#compareTo(Card)}).
+   */
+  void sortCards() {
+    sortCards(CardOrder.SUIT_RANK);
+  }
+
+  /**
+   * Sorts the cards in the pile in the specified order, in linear time (see {@link CardOrder}).
+   * Any pending lazy shuffle is discarded. The count buffer used when sorting repeated cards is
+   * allocated on the first sort, and reused thereafter.
+   *
+   * @param order ordering of cards.
+   */
+  void sortCards(CardOrder order) {
+    pending = null;
+    if (sortCounts == null) {
+      sortCounts = new int[Card.COUNT];
+    }
+    order.sort(cards, head, tail, sortCounts);
+  }
+
+  /**
+   * Discards any pending lazy shuffle, without completing it. This is intended only for use
+   * immediately before the entire pile is reshuffled, to avoid needlessly completing the pending
+   * shuffle when previously removed cards are restored.
+   */
+  void cancelShuffle() {
+    pending = null;
+  }
+
+  /**
+   * Completes any pending lazy shuffle of the cards remaining in the pile.
+   */
+  void settle() {
+    if (pending != null) {
+      advanceShuffle(tail - head);
+      pending = null;
+    }
+  }
+
+  private void advanceShuffle(int count) {
+    if (pending != null) {
+      Shuffler.shuffle(cards, head, tail, count, pending);
+    }
+  }
+
+  private void reverse(int from, int to) {
+    for (int i = from, j = to - 1; i < j; i++, j--) {
+      byte temp = cards[i];
+      cards[i] = cards[j];
+      cards[j] = temp;
+    }
+  }
+
+  private void transferRemoved(int count) {
+    for (int i = head; i < head + count; i++) {
+      remaining.remove(cards[i]);
+      removed.add(cards[i]);
+    }
+    head += count;
+  }
+
+  private void ensureCapacity(int additional) {
+    if (tail + additional > cards.length) {
+      int offset = retainsRemoved() ? 0 : head;
+      int required = tail - offset + additional;
+      byte[] destination =
+          (required <= cards.length) ? cards : new byte[Math.max(required, 2 * cards.length)];
+      System.arraycopy(cards, offset, destination, 0, tail - offset);
+      cards = destination;
+      head -= offset;
+      tail -= offset;
+      if (offset > 0) {
+        removed.clear();
+      }
+    }
+  }
+
+  /**
+   * Counts of cards by {@link Suit} and by {@link Rank}, from which counts by {@link Color} are
+   * derived.
+   */
+  private static class Composition {
+
+    private static final Suit[] SUITS = Suit.values();
+    private static final int RANKS = Rank.values().length;
+
+    private final int[] suits = new int[SUITS.length];
+    private final int[] ranks = new int[RANKS];
+
+    void add(int ordinal) {
+      suits[ordinal / RANKS]++;
+      ranks[ordinal % RANKS]++;
+    }
+
+    void add(byte[] ordinals, int from, int to) {
+      for (int i = from; i < to; i++) {
+        add(ordinals[i]);
+      }
+    }
+
+    void addAll(Composition other) {
+      for (int i = 0; i < suits.length; i++) {
+        suits[i] += other.suits[i];
+      }
+      for (int i = 0; i < ranks.length; i++) {
+        ranks[i] += other.ranks[i];
+      }
+    }
+
+    void remove(int ordinal) {
+      suits[ordinal / RANKS]--;
+      ranks[ordinal % RANKS]--;
+    }
+
+    void clear() {
+      Arrays.fill(suits, 0);
+      Arrays.fill(ranks, 0);
+    }
+
+    int count(Color color) {
+      int count = 0;
+      for (Suit suit : SUITS) {
+        if (suit.color() == color) {
+          count += suits[suit.ordinal()];
+        }
+      }
+      return count;
+    }
+
+  }
+
+  private static class OrdinalSpliterator implements Spliterator<Card> {
+
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+    private final byte[] ordinals;
+    private final int end;
+    private int position;
+
+    OrdinalSpliterator(byte[] ordinals, int start, int end) {
+      this.ordinals = ordinals;
+      this.end = end;
+      position = start;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Card> action) {
+      boolean advanced = false;
+      if (position < end) {
+        action.accept(Card.of(ordinals[position++]));
+        advanced = true;
+      }
+      return advanced;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Card> action) {
+      for (int i = position; i < end; i++) {
+        action.accept(Card.of(ordinals[i]));
+      }
+      position = end;
+    }
+
+    @Override
+    public Spliterator<Card> trySplit() {
+      int middle = (position + end) >>> 1;
+      Spliterator<Card> prefix = null;
+      if (middle > position) {
+        prefix = new OrdinalSpliterator(ordinals, position, middle);
+        position = middle;
+      }
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return end - position;
+    }
+
+    @Override
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+
+  }
+
+  private class OrdinalList extends AbstractList<Card> implements RandomAccess {
+
+    private final int start;
+    private final int size;
+    private final boolean modifiable;
+
+    OrdinalList(int start, int end, boolean modifiable) {
+      this.start = start;
+      size = end - start;
+      this.modifiable = modifiable;
+    }
+
+    @Override
+    public Card get(int index) {
+      return Card.of(cards[start + checkIndex(index)]);
+    }
+
+    @Override
+    public Card set(int index, Card card) {
+      if (!modifiable) {
+        throw new UnsupportedOperationException();
+      }
+      int position = start + checkIndex(index);
+      int previous = cards[position];
+      int ordinal = card.ordinal();
+      cards[position] = (byte) ordinal;
+      remaining.remove(previous);
+      remaining.add(ordinal);
+      return Card.of(previous);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    private int checkIndex(int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return index;
+    }
+
   }
 
 }
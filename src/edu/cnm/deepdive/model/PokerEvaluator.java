@@ -0,0 +1,296 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+/**
+ * Evaluates poker hands of 5, 6, or 7 cards, returning the strength of the best 5-card hand that
+ * can be formed from the cards. Strengths are {@code int} values, such that a stronger hand always
+ * has a greater strength, and equally strong hands have equal strengths. The {@link
+ * PokerHand.Category} of a hand may be obtained from its strength via {@link
+ * PokerHand.Category#of(int)}.
+ *
+ * <p>Evaluation is driven entirely by lookup tables computed when this class is initialized, and
+ * performs no allocation:</p>
+ * <ul>
+ *   <li><p>If any suit is held by 5 or more of the cards, no hand stronger than a flush is possible
+ *   (with at most 7 cards), so the strength is read from a table indexed by the 13-bit rank mask of
+ *   that suit, which distinguishes straight flushes from other flushes.</p></li>
+ *   <li><p>Otherwise, the strength depends only on the number of cards of each rank. This count
+ *   vector is mapped to a perfect, minimal hash value&mdash;its position in the lexicographic
+ *   ordering of all count vectors with the same total&mdash;by summing precomputed terms, one for
+ *   each rank held; the hash value indexes a table of strengths for each hand size.</p></li>
+ * </ul>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class PokerEvaluator {
+
+  /** Minimum number of cards in a hand that can be evaluated. */
+  public static final int MIN_CARDS = 5;
+  /** Maximum number of cards in a hand that can be evaluated. */
+  public static final int MAX_CARDS = 7;
+
+  static final int CATEGORY_SHIFT = 20;
+
+  private static final String BAD_HAND_SIZE = "Hands must contain between %d and %d cards.";
+  private static final int RANKS = Rank.values().length;
+  private static final int SUITS = Suit.values().length;
+  private static final int RANK_MASK = (1 << RANKS) - 1;
+  private static final int MAX_PER_RANK = SUITS;
+  private static final int HASH_STRIDE = MAX_PER_RANK + 1;
+  private static final int[] hashTerms = new int[RANKS * (MAX_CARDS + 1) * HASH_STRIDE];
+  private static final int[][] rankPatternStrengths = new int[MAX_CARDS + 1][];
+  private static final int[] flushStrengths = new int[1 << RANKS];
+
+  static {
+    int[][] vectorCounts = new int[RANKS + 1][MAX_CARDS + 1];
+    vectorCounts[0][0] = 1;
+    for (int length = 1; length <= RANKS; length++) {
+      for (int sum = 0; sum <= MAX_CARDS; sum++) {
+        for (int count = 0; count <= Math.min(MAX_PER_RANK, sum); count++) {
+          vectorCounts[length][sum] += vectorCounts[length - 1][sum - count];
+        }
+      }
+    }
+    for (int rank = 0; rank < RANKS; rank++) {
+      for (int remaining = 0; remaining <= MAX_CARDS; remaining++) {
+        int term = 0;
+        for (int count = 0; count <= MAX_PER_RANK; count++) {
+          hashTerms[hashIndex(rank, remaining, count)] = term;
+          if (count <= remaining) {
+            term += vectorCounts[RANKS - 1 - rank][remaining - count];
+          }
+        }
+      }
+    }
+    for (int size = MIN_CARDS; size <= MAX_CARDS; size++) {
+      rankPatternStrengths[size] = new int[vectorCounts[RANKS][size]];
+      fillRankPatterns(rankPatternStrengths[size], new int[RANKS], 0, size, size);
+    }
+    for (int mask = 0; mask <= RANK_MASK; mask++) {
+      if (Integer.bitCount(mask) >= MIN_CARDS) {
+        flushStrengths[mask] = flushStrength(mask);
+      }
+    }
+  }
+
+  private PokerEvaluator() {
+    // Non-instantiable utility class.
+  }
+
+  /**
+   * Returns the strength of the hand consisting of the cards whose bits are set in {@code
+   * cards}, as in {@link CardSet#bits()}.
+   *
+   * @param cards membership mask of the cards in the hand.
+   * @return hand strength.
+   * @throws IllegalArgumentException if the hand contains fewer than {@link #MIN_CARDS} or more
+   *                                  than {@link #MAX_CARDS} cards.
+   */
+  public static int evaluate(long cards) {
+    int size = Long.bitCount(cards);
+    if (size < MIN_CARDS || size > MAX_CARDS) {
+      throw new IllegalArgumentException(String.format(BAD_HAND_SIZE, MIN_CARDS, MAX_CARDS));
+    }
+    long clubs = cards & RANK_MASK;
+    long diamonds = (cards >>> RANKS) & RANK_MASK;
+    long hearts = (cards >>> 2 * RANKS) & RANK_MASK;
+    long spades = (cards >>> 3 * RANKS) & RANK_MASK;
+    if (Long.bitCount(clubs) >= MIN_CARDS) {
+      return flushStrengths[(int) clubs];
+    }
+    if (Long.bitCount(diamonds) >= MIN_CARDS) {
+      return flushStrengths[(int) diamonds];
+    }
+    if (Long.bitCount(hearts) >= MIN_CARDS) {
+      return flushStrengths[(int) hearts];
+    }
+    if (Long.bitCount(spades) >= MIN_CARDS) {
+      return flushStrengths[(int) spades];
+    }
+    // Ranks not held contribute nothing to the hash, so only the held ranks are visited.
+    int hash = 0;
+    int remaining = size;
+    for (long held = clubs | diamonds | hearts | spades; held != 0; held &= held - 1) {
+      int rank = Long.numberOfTrailingZeros(held);
+      int count = (int) (((clubs >>> rank) & 1) + ((diamonds >>> rank) & 1)
+          + ((hearts >>> rank) & 1) + ((spades >>> rank) & 1));
+      hash += hashTerms[hashIndex(rank, remaining, count)];
+      remaining -= count;
+    }
+    return rankPatternStrengths[size][hash];
+  }
+
+  /**
+   * Returns the strength of the hand consisting of the specified distinct cards.
+   *
+   * @param cards array containing the cards in the hand.
+   * @param off position of the first card in {@code cards}.
+   * @param len number of cards in the hand.
+   * @return hand strength.
+   * @throws IllegalArgumentException if the hand contains fewer than {@link #MIN_CARDS} or more
+   *                                  than {@link #MAX_CARDS} distinct cards.
+   */
+  public static int evaluate(Card[] cards, int off, int len) {
+    long mask = 0;
+    for (int i = off; i < off + len; i++) {
+      mask |= 1L << cards[i].ordinal();
+    }
+    return evaluate(mask);
+  }
+
+  private static int hashIndex(int rank, int remaining, int count) {
+    return (rank * (MAX_CARDS + 1) + remaining) * HASH_STRIDE + count;
+  }
+
+  private static void fillRankPatterns(int[] strengths, int[] counts, int rank, int remaining,
+      int size) {
+    if (rank == RANKS) {
+      if (remaining == 0) {
+        int hash = 0;
+        int left = size;
+        for (int r = 0; r < RANKS; r++) {
+          hash += hashTerms[hashIndex(r, left, counts[r])];
+          left -= counts[r];
+        }
+        strengths[hash] = rankPatternStrength(counts);
+      }
+    } else {
+      for (int count = 0; count <= Math.min(MAX_PER_RANK, remaining); count++) {
+        counts[rank] = count;
+        fillRankPatterns(strengths, counts, rank + 1, remaining - count, size);
+      }
+      counts[rank] = 0;
+    }
+  }
+
+  /**
+   * Converts a rank ordinal (with {@link Rank#ACE} first) to a poker rank value, from 0 (for
+   * {@link Rank#TWO}) to 12 (for {@link Rank#ACE}).
+   */
+  private static int pokerRank(int rank) {
+    return (rank + RANKS - 1) % RANKS;
+  }
+
+  private static int pokerMask(int rankMask) {
+    int mask = 0;
+    for (int rank = 0; rank < RANKS; rank++) {
+      if ((rankMask & (1 << rank)) != 0) {
+        mask |= 1 << pokerRank(rank);
+      }
+    }
+    return mask;
+  }
+
+  private static int straightHigh(int pokerMask) {
+    for (int high = RANKS - 1; high >= 4; high--) {
+      int run = 0b11111 << (high - 4);
+      if ((pokerMask & run) == run) {
+        return high;
+      }
+    }
+    int wheel = (1 << (RANKS - 1)) | 0b1111;
+    return ((pokerMask & wheel) == wheel) ? 3 : -1;
+  }
+
+  private static int strength(PokerHand.Category category, int... ranks) {
+    int strength = category.ordinal();
+    for (int i = 0; i < 5; i++) {
+      strength = (strength << 4) | ((i < ranks.length) ? ranks[i] : 0);
+    }
+    return strength;
+  }
+
+  private static int flushStrength(int rankMask) {
+    int mask = pokerMask(rankMask);
+    int high = straightHigh(mask);
+    if (high >= 0) {
+      return strength(PokerHand.Category.STRAIGHT_FLUSH, high);
+    }
+    int[] ranks = new int[5];
+    for (int rank = RANKS - 1, i = 0; i < ranks.length; rank--) {
+      if ((mask & (1 << rank)) != 0) {
+        ranks[i++] = rank;
+      }
+    }
+    return strength(PokerHand.Category.FLUSH, ranks);
+  }
+
+  private static int rankPatternStrength(int[] rankCounts) {
+    int[] counts = new int[RANKS];
+    int mask = 0;
+    for (int rank = 0; rank < RANKS; rank++) {
+      counts[pokerRank(rank)] = rankCounts[rank];
+      if (rankCounts[rank] > 0) {
+        mask |= 1 << pokerRank(rank);
+      }
+    }
+    int quad = highest(counts, 4, -1, RANKS);
+    int trip = highest(counts, 3, -1, RANKS);
+    int secondTrip = highest(counts, 3, trip, trip);
+    int pair = highest(counts, 2, trip, RANKS);
+    int secondPair = (pair >= 0) ? highest(counts, 2, trip, pair) : -1;
+    int straight = straightHigh(mask);
+    int result;
+    if (quad >= 0) {
+      result = strength(PokerHand.Category.FOUR_OF_A_KIND, quad, kickers(mask, 1, quad)[0]);
+    } else if (trip >= 0 && (secondTrip >= 0 || pair >= 0)) {
+      result = strength(PokerHand.Category.FULL_HOUSE, trip, Math.max(secondTrip, pair));
+    } else if (straight >= 0) {
+      result = strength(PokerHand.Category.STRAIGHT, straight);
+    } else if (trip >= 0) {
+      int[] kickers = kickers(mask, 2, trip);
+      result = strength(PokerHand.Category.THREE_OF_A_KIND, trip, kickers[0], kickers[1]);
+    } else if (secondPair >= 0) {
+      int kicker = kickers(mask, 1, pair, secondPair)[0];
+      result = strength(PokerHand.Category.TWO_PAIR, pair, secondPair, kicker);
+    } else if (pair >= 0) {
+      int[] kickers = kickers(mask, 3, pair);
+      result = strength(
+          PokerHand.Category.ONE_PAIR, pair, kickers[0], kickers[1], kickers[2]);
+    } else {
+      result = strength(PokerHand.Category.HIGH_CARD, kickers(mask, 5));
+    }
+    return result;
+  }
+
+  /**
+   * Returns the highest rank below {@code below}, other than {@code exclude}, held by at least
+   * {@code count} cards, or -1 if there is none.
+   */
+  private static int highest(int[] counts, int count, int exclude, int below) {
+    for (int rank = below - 1; rank >= 0; rank--) {
+      if (rank != exclude && counts[rank] >= count) {
+        return rank;
+      }
+    }
+    return -1;
+  }
+
+  private static int[] kickers(int mask, int count, int... excluded) {
+    for (int rank : excluded) {
+      mask &= ~(1 << rank);
+    }
+    int[] kickers = new int[count];
+    for (int rank = RANKS - 1, i = 0; rank >= 0 && i < count; rank--) {
+      if ((mask & (1 << rank)) != 0) {
+        kickers[i++] = rank;
+      }
+    }
+    return kickers;
+  }
+
+}
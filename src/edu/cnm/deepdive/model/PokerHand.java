@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+/**
+ * Implements a poker hand of up to {@link PokerEvaluator#MAX_CARDS} distinct cards (e.g. the 2
+ * hole cards and 5 community cards available to a Texas hold'em player). Hands are ordered by the
+ * strength of the best 5-card hand that can be formed from their cards, as computed by {@link
+ * PokerEvaluator}; the strength is computed on demand, and cached until another card is added.
+ *
+ * <p><strong>Note:</strong> the natural ordering of this class is inconsistent with {@link
+ * #equals(Object)}: hands with different cards (e.g. the same ranks in different suits) may be
+ * equally strong.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public class PokerHand extends Hand {
+
+  private static final String FULL_HAND = "Hand already holds the maximum number of cards.";
+  private static final String DUPLICATE_CARD = "Hand already holds %s.";
+  private static final String INCOMPLETE_HAND = "Hand must hold at least %d cards to be evaluated.";
+  private static final int UNEVALUATED = -1;
+
+  private long bits;
+  private int strength = UNEVALUATED;
+
+  /**
+   * Initializes an empty hand.
+   */
+  public PokerHand() {
+    super(PokerEvaluator.MAX_CARDS);
+  }
+
+  /**
+   * Adds {@code card} to this hand.
+   *
+   * @param card {@link Card} to add.
+   * @throws IllegalArgumentException if the hand already holds {@code card}.
+   * @throws IllegalStateException if the hand already holds {@link PokerEvaluator#MAX_CARDS}
+   *                               cards.
+   */
+  @Override
+  public void add(Card card) {
+    long bit = 1L << card.ordinal();
+    if ((bits & bit) != 0) {
+      throw new IllegalArgumentException(String.format(DUPLICATE_CARD, card));
+    }
+    if (size() >= PokerEvaluator.MAX_CARDS) {
+      throw new IllegalStateException(FULL_HAND);
+    }
+    super.add(card);
+    bits |= bit;
+    strength = UNEVALUATED;
+  }
+
+  /**
+   * Returns the cards in this hand as a {@link CardSet}.
+   */
+  public CardSet toCardSet() {
+    return CardSet.of(bits);
+  }
+
+  /**
+   * Returns the strength of the best 5-card hand that can be formed from the cards in this hand.
+   *
+   * @return hand strength (see {@link PokerEvaluator}).
+   * @throws IllegalStateException if the hand holds fewer than {@link PokerEvaluator#MIN_CARDS}
+   *                               cards.
+   */
+  public int getStrength() {
+    if (strength == UNEVALUATED) {
+      if (size() < PokerEvaluator.MIN_CARDS) {
+        throw new IllegalStateException(
+            String.format(INCOMPLETE_HAND, PokerEvaluator.MIN_CARDS));
+      }
+      strength = PokerEvaluator.evaluate(bits);
+    }
+    return strength;
+  }
+
+  /**
+   * Returns the {@link Category} of the best 5-card hand that can be formed from the cards in this
+   * hand.
+   *
+   * @throws IllegalStateException if the hand holds fewer than {@link PokerEvaluator#MIN_CARDS}
+   *                               cards.
+   */
+  public Category getCategory() {
+    return Category.of(getStrength());
+  }
+
+  /**
+   * Compares the strength of this hand with that of {@code other}.
+   *
+   * @param other {@link PokerHand} to compare to this instance.
+   * @return negative, zero, or positive, as this hand is weaker than, as strong as, or stronger than
+   * {@code other}.
+   * @throws ClassCastException if {@code other} is not a {@link PokerHand}.
+   * @throws IllegalStateException if either hand holds fewer than {@link
+   *                               PokerEvaluator#MIN_CARDS} cards.
+   */
+  @Override
+  public int compareTo(Hand other) {
+    return Integer.compare(getStrength(), ((PokerHand) other).getStrength());
+  }
+
+  /**
+   * Encapsulates the standard categories of poker hands, in increasing order of strength.
+   */
+  public enum Category {
+
+    HIGH_CARD,
+    ONE_PAIR,
+    TWO_PAIR,
+    THREE_OF_A_KIND,
+    STRAIGHT,
+    FLUSH,
+    FULL_HOUSE,
+    FOUR_OF_A_KIND,
+    STRAIGHT_FLUSH;
+
+    private static final Category[] categories = values();
+
+    /**
+     * Returns the category of a hand with the specified strength.
+     *
+     * @param strength hand strength, as returned by {@link PokerEvaluator#evaluate(long)}.
+     * @return category of hand.
+     */
+    public static Category of(int strength) {
+      return categories[strength >>> PokerEvaluator.CATEGORY_SHIFT];
+    }
+
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Provides factory methods for sources of randomness suited to different uses of {@link
+ * Shuffleable} instances: a cryptographically strong source for commercial dealing, and fast,
+ * splittable sources for simulations&mdash;including methods to derive statistically independent
+ * streams for parallel workers from a single root generator.
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class RandomSources {
+
+  /** Name of the algorithm used for simulation sources of randomness. */
+  public static final String SIMULATION_ALGORITHM = "L64X128MixRandom";
+
+  private static final String BAD_COUNT = "Number of streams must be non-negative.";
+
+  private RandomSources() {
+    // Non-instantiable utility class.
+  }
+
+  /**
+   * Returns a new cryptographically strong source of randomness, suitable for commercial gaming
+   * purposes.
+   *
+   * @return new {@link SecureRandom} instance.
+   */
+  public static RandomGenerator secure() {
+    return new SecureRandom();
+  }
+
+  /**
+   * Returns a new, randomly seeded, fast, splittable source of randomness, suitable for simulation
+   * workloads. Note that instances are <strong>not</strong> thread-safe; each worker thread should
+   * use its own instance, derived via {@link #split(SplittableGenerator, int)} or {@link
+   * #perThread(SplittableGenerator)}.
+   *
+   * @return new {@link #SIMULATION_ALGORITHM} instance.
+   */
+  public static SplittableGenerator simulation() {
+    return RandomGeneratorFactory.<SplittableGenerator>of(SIMULATION_ALGORITHM).create();
+  }
+
+  /**
+   * Returns a new, fast, splittable source of randomness, initialized with the specified seed, for
+   * reproducible simulations.
+   *
+   * @param seed initial seed.
+   * @return new {@link #SIMULATION_ALGORITHM} instance.
+   */
+  public static SplittableGenerator simulation(long seed) {
+    return RandomGeneratorFactory.<SplittableGenerator>of(SIMULATION_ALGORITHM).create(seed);
+  }
+
+  /**
+   * Splits the specified root generator into {@code count} new generators, with statistically
+   * independent streams, for use by parallel workers.
+   *
+   * @param root generator from which the new generators are split.
+   * @param count number of generators to return.
+   * @return array of new generators.
+   * @throws IllegalArgumentException if {@code count} is negative.
+   */
+  public static RandomGenerator[] split(SplittableGenerator root, int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException(BAD_COUNT);
+    }
+    return root.splits(count).toArray(RandomGenerator[]::new);
+  }
+
+  /**
+   * Returns {@code count} copies of the specified jumpable generator, each positioned (by
+   * successive jumps) at the start of a non-overlapping subsequence of the root generator's
+   * stream, for use by parallel workers.
+   *
+   * @param root generator from which the new generators are derived.
+   * @param count number of generators to return.
+   * @return array of new generators.
+   * @throws IllegalArgumentException if {@code count} is negative.
+   */
+  public static RandomGenerator[] jump(JumpableGenerator root, int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException(BAD_COUNT);
+    }
+    return root.jumps(count).toArray(RandomGenerator[]::new);
+  }
+
+  /**
+   * Returns a {@link ThreadLocal} that supplies each thread with its own generator, split from
+   * {@code root} on first use in that thread. Access to {@code root} is synchronized, so the
+   * returned instance may be shared freely between threads.
+   *
+   * @param root generator from which per-thread generators are split.
+   * @return per-thread source of generators.
+   */
+  public static ThreadLocal<RandomGenerator> perThread(SplittableGenerator root) {
+    return ThreadLocal.withInitial(() -> {
+      synchronized (root) {
+        return root.split();
+      }
+    });
+  }
+
+}
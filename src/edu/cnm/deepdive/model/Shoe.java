@@ -15,11 +15,12 @@
  */
 package edu.cnm.deepdive.model;
 
+import edu.cnm.deepdive.model.DealEvents.ReshuffleEvent;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements a (presumably) multi-deck shoe of {@link Card} instances. Aside from the multi-deck
@@ -32,25 +33,61 @@ import java.util.Random;
  *   trigger points, previously drawn/dealt cards are returned to the shoe, and the shoe is
  *   shuffled automatically.</p></li>
  * </ol>
+ * <p>A shoe may also be configured (via {@link Builder#lazyShuffle()}) to shuffle lazily, so that
+ * each shuffle takes constant time, and the shuffling work is performed one card at a time as cards
+ * are drawn. (See {@link Deck#setLazyShuffle(boolean)} for details.)</p>
+ * <p>Alternatively, a shoe may be configured (via {@link Builder#continuousShuffle()}) to model a
+ * continuous shuffling machine: instead of being reshuffled at a trigger point, the shoe returns
+ * the cards drawn in each round to the machine at the start of the next round, each at a uniformly
+ * random position, so every card drawn is selected uniformly at random from all of the cards in the
+ * machine. Since this builds on lazy shuffling, reinserting a round's discards takes constant
+ * time, and each draw is a single Fisher&ndash;Yates step.</p>
  *
  * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
  */
 public class Shoe extends Stock implements Shuffleable {
 
   protected static final String ADD_NOT_SUPPORTED = "The only cards allowed in a shoe are those provided on instantiation.";
-  private final Random rng;
+  private static final Rank[] RANKS = Rank.values();
+  /** Hi-Lo count tags, indexed by {@link Rank} ordinal. */
+  private static final int[] HI_LO_TAGS = {-1, 1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1};
+
+  private final RandomGenerator rng;
   private final int reshuffleTrigger;
+  private final boolean lazyShuffle;
+  private final boolean shuffleOnCreate;
+  private final boolean continuousShuffle;
+  private byte[] composition;
 
   private Shoe(Builder builder) {
-    List<Card> cards = getCards();
-    builder.decks.forEach((deck) -> cards.addAll(deck.getCards()));
+    super(builder.decks.stream().mapToInt(Deck::size).sum());
+    builder.decks.forEach(this::addAll);
+    composition = toOrdinals();
     this.rng = builder.rng;
     this.reshuffleTrigger = builder.reshuffleTrigger;
-    if (builder.shuffleOnCreate) {
+    this.continuousShuffle = builder.continuousShuffle;
+    this.lazyShuffle = builder.lazyShuffle || continuousShuffle;
+    this.shuffleOnCreate = builder.shuffleOnCreate || continuousShuffle;
+    if (shuffleOnCreate) {
       shuffle();
     }
   }
 
+  /**
+   * Initializes an empty shoe, with the specified settings, into which a previously captured state
+   * will be read (see {@link SnapshotCodec}).
+   */
+  Shoe(int capacity, RandomGenerator rng, int reshuffleTrigger, boolean lazyShuffle,
+      boolean shuffleOnCreate, boolean continuousShuffle) {
+    super(capacity);
+    this.rng = rng;
+    this.reshuffleTrigger = reshuffleTrigger;
+    this.lazyShuffle = lazyShuffle || continuousShuffle;
+    this.continuousShuffle = continuousShuffle;
+    this.shuffleOnCreate = shuffleOnCreate || continuousShuffle;
+    composition = new byte[0];
+  }
+
   /**
    * Shuffles the shoe, after gathering all previously drawn/dealt cards back into the shoe, using
    * the specified source of randomness (rather than the source set on creation of the shoe).
@@ -58,19 +95,103 @@ public class Shoe extends Stock implements Shuffleable {
    * @param rng source of randomness.
    */
   @Override
-  public void shuffle(Random rng) {
+  public void shuffle(RandomGenerator rng) {
+    cancelShuffle();
     gather();
-    Collections.shuffle(getCards(), rng);
+    shuffleCards(rng, lazyShuffle);
+  }
+
+  /**
+   * Gathers the cards drawn from the shoe, except the {@code inPlay} cards drawn most recently, and
+   * reshuffles them together with any cards remaining in the shoe, using the source of randomness
+   * set on creation. This is intended for completing a round of play when the shoe is exhausted
+   * part way through: only the discards of previous rounds are returned to the shoe, while the
+   * cards on the table remain drawn, so that no card can be dealt twice in the same round.
+   *
+   * @param inPlay number of most recently drawn cards to keep out of the shoe.
+   * @throws IllegalArgumentException if {@code inPlay} is negative, or greater than the number of
+   *                                  cards drawn.
+   */
+  public void reshuffleDiscards(int inPlay) {
+    gatherExcept(inPlay);
+    shuffleCards(rng, lazyShuffle);
   }
 
   /**
    * Returns the source of randomness set on creation of the shoe.
    */
   @Override
-  public Random getRng() {
+  public RandomGenerator getRng() {
     return rng;
   }
 
+  /**
+   * Returns the reshuffle trigger point set on creation of the shoe.
+   *
+   * @return number of cards remaining at (or below) which {@link #start()} reshuffles the shoe.
+   */
+  public int getReshuffleTrigger() {
+    return reshuffleTrigger;
+  }
+
+  /**
+   * Returns a flag indicating whether the shoe is shuffled on creation, and when reset (see {@link
+   * Builder#shuffleOnCreate()} and {@link #reset()}).
+   *
+   * @return shuffle on create flag.
+   */
+  public boolean isShuffleOnCreate() {
+    return shuffleOnCreate;
+  }
+
+  /**
+   * Returns a flag indicating whether the shoe shuffles lazily (see {@link Builder#lazyShuffle()}).
+   *
+   * @return lazy shuffle flag.
+   */
+  public boolean isLazyShuffle() {
+    return lazyShuffle;
+  }
+
+  /**
+   * Returns a flag indicating whether the shoe models a continuous shuffling machine (see {@link
+   * Builder#continuousShuffle()}).
+   *
+   * @return continuous shuffle flag.
+   */
+  public boolean isContinuousShuffle() {
+    return continuousShuffle;
+  }
+
+  /**
+   * Returns the Hi-Lo running count of the cards drawn from this shoe since it was last shuffled
+   * (or gathered): +1 for each card from {@link Rank#TWO} to {@link Rank#SIX}, 0 for each card from
+   * {@link Rank#SEVEN} to {@link Rank#NINE}, and -1 for each ten, face card, or ace. This is
+   * computed from the counts of drawn cards by rank (see {@link #drawnCount(Rank)}), which are
+   * maintained as cards are drawn, so the shoe is never rescanned.
+   *
+   * @return running count.
+   */
+  public int getRunningCount() {
+    int count = 0;
+    for (Rank rank : RANKS) {
+      count += HI_LO_TAGS[rank.ordinal()] * drawnCount(rank);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the Hi-Lo true count: the running count (see {@link #getRunningCount()}) divided by
+   * the number of decks (possibly fractional) remaining in the shoe. If the shoe is empty, 0 is
+   * returned.
+   *
+   * @return true count.
+   */
+  public double getTrueCount() {
+    int remaining = size();
+    return (remaining > 0) ? (double) getRunningCount() * Card.COUNT / remaining : 0;
+  }
+
   /**
    * Throws an {@link UnsupportedOperationException} if an attempt is made to add a card to shoe.
    * (Only the initial set of decks may be used to provide cards for the shoe.)
@@ -81,14 +202,56 @@ public class Shoe extends Stock implements Shuffleable {
   }
 
   /**
-   * Marks the start of a round (hand or round of hands) of play. If the number of cards remaining
-   * in the shoe is less than or equal to the reshuffle trigger point, the previously drawn/dealt
-   * cards are gathered back into the shoe, and the shoe is reshuffled.
+   * Restores this shoe to the state of a newly created instance: the cards provided on creation
+   * are copied back into the shoe, in their original order, from a prototype captured at that
+   * time, with none drawn and no shuffle pending; if the shoe was configured to be shuffled on
+   * creation (see {@link Builder#shuffleOnCreate()}), it is then shuffled. The existing storage is
+   * reused, so a shoe may be recycled between games (e.g. via {@link StockPool}) without
+   * allocation. Any attached {@link DealJournal} is retained.
+   */
+  public void reset() {
+    load(composition);
+    if (shuffleOnCreate) {
+      shuffle();
+    }
+  }
+
+  /**
+   * Marks the start of a round (hand or round of hands) of play. If the shoe models a continuous
+   * shuffling machine, the cards drawn/dealt in the previous round are reinserted into the shoe at
+   * random positions, in constant time. Otherwise, if the number of cards remaining in the shoe is
+   * less than or equal to the reshuffle trigger point, the previously drawn/dealt cards are
+   * gathered back into the shoe, and the shoe is reshuffled.
    */
   public void start() {
-    if (size() <= reshuffleTrigger) {
+    int remaining = size();
+    if (continuousShuffle) {
+      reinsertDrawn(rng);
+    } else if (remaining <= reshuffleTrigger) {
+      ReshuffleEvent event = DealEvents.beginReshuffle();
+      DealMetrics metrics = getMetrics();
+      if (metrics != null) {
+        metrics.recordReshuffle();
+      }
       shuffle();
+      if (event != null && event.shouldCommit()) {
+        event.remaining = remaining;
+        event.trigger = reshuffleTrigger;
+        event.decks = size() / Card.COUNT;
+        event.commit();
+      }
+    }
+  }
+
+  @Override
+  void readState(ByteBuffer src) {
+    super.readState(src);
+    byte[] ordinals = new byte[removedCount() + size()];
+    for (int i = 0; i < ordinals.length; i++) {
+      ordinals[i] = (byte) ordinalAt(i);
     }
+    Arrays.sort(ordinals);
+    composition = ordinals;
   }
 
   /**
@@ -101,9 +264,11 @@ public class Shoe extends Stock implements Shuffleable {
     private static final String BAD_BUILDER = "Builder is invalid, possibly after an earlier exception.";
 
     private final Collection<Deck> decks;
-    private Random rng;
+    private RandomGenerator rng;
     private int reshuffleTrigger;
     private boolean shuffleOnCreate;
+    private boolean lazyShuffle;
+    private boolean continuousShuffle;
 
     /**
      * Initializes the builder with the collection of {@link Deck} instances that will be used to
@@ -125,7 +290,7 @@ public class Shoe extends Stock implements Shuffleable {
      *
      * @return this {@link Builder} instance.
      */
-    public Builder randomSource(Random rng) {
+    public Builder randomSource(RandomGenerator rng) {
       this.rng = rng;
       return this;
     }
@@ -164,6 +329,53 @@ public class Shoe extends Stock implements Shuffleable {
       return this;
     }
 
+    /**
+     * Specifies that the {@link Shoe} is to shuffle lazily. Invocation of this method is equivalent
+     * to invocation of {@link #lazyShuffle(boolean) lazyShuffle(true)}.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder lazyShuffle() {
+      return lazyShuffle(true);
+    }
+
+    /**
+     * Sets a flag specifying whether the {@link Shoe} is to shuffle lazily&mdash;that is, one card
+     * at a time, as cards are drawn, rather than all at once. (See {@link
+     * Deck#setLazyShuffle(boolean)} for details.)
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder lazyShuffle(boolean lazyShuffle) {
+      this.lazyShuffle = lazyShuffle;
+      return this;
+    }
+
+    /**
+     * Specifies that the {@link Shoe} is to model a continuous shuffling machine. Invocation of this
+     * method is equivalent to invocation of {@link #continuousShuffle(boolean)
+     * continuousShuffle(true)}.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder continuousShuffle() {
+      return continuousShuffle(true);
+    }
+
+    /**
+     * Sets a flag specifying whether the {@link Shoe} is to model a continuous shuffling
+     * machine&mdash;that is, whether the cards drawn in each round are reinserted at random
+     * positions at the start of the next round (see {@link Shoe#start()}), rather than reshuffled
+     * when the reshuffle trigger point is reached. A continuous shuffling shoe is always shuffled
+     * lazily, and on creation; the reshuffle trigger point is ignored.
+     *
+     * @return this {@link Builder} instance.
+     */
+    public Builder continuousShuffle(boolean continuousShuffle) {
+      this.continuousShuffle = continuousShuffle;
+      return this;
+    }
+
     /**
      * Constructs and returns an initialized instance of {@link Shoe}.
      */
@@ -0,0 +1,339 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.IntSummaryStatistics;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Holds a large number of independent shoes (rows), all with the same composition, in off-heap
+ * memory, at a cost of one byte per card plus one {@code int} cursor per row. Compared to the same
+ * number of {@link Shoe} instances, this removes the per-shoe object overhead, and keeps the cards
+ * out of the garbage-collected heap entirely; rows can be shuffled, drawn from, and summarized in
+ * parallel.
+ *
+ * <p>Each row is stored as a contiguous run of card ordinals (see {@link Card#ordinal()}) in a
+ * direct {@link ByteBuffer}; since a single buffer is limited to 2<sup>31</sup> - 1 bytes, the rows
+ * are spread over as many buffers as necessary, with no row split between buffers. As in {@link
+ * Stock}, cards drawn from a row are retained ahead of its cursor, so shuffling a row gathers all
+ * of its cards.</p>
+ *
+ * <p>Different rows may be accessed concurrently by different threads, but a single row must not
+ * be. Direct buffers cannot be freed explicitly; {@link #close()} releases this instance's
+ * references to its buffers (so that the memory is reclaimed as soon as they are collected), and
+ * causes any subsequent access to fail.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class ShoeBank implements Closeable {
+
+  private static final String BAD_ROWS = "Number of rows must be positive.";
+  private static final String BAD_DECKS = "Number of decks must be positive.";
+  private static final String EMPTY_COMPOSITION = "Decks must contain at least one card.";
+  private static final String BAD_COUNT = "Number of cards to draw must be non-negative.";
+  private static final String CLOSED = "Shoe bank is closed.";
+  private static final int MAX_BUFFER_SIZE = 1 << 30;
+  private static final int ROWS_PER_BLOCK = 256;
+
+  private final int rows;
+  private final int rowSize;
+  private final int rowsPerBuffer;
+  private final int[] cursors;
+  private ByteBuffer[] buffers;
+
+  private ShoeBank(int rows, byte[] composition) {
+    this.rows = rows;
+    rowSize = composition.length;
+    rowsPerBuffer = Math.max(1, MAX_BUFFER_SIZE / rowSize);
+    cursors = new int[rows];
+    buffers = new ByteBuffer[(rows + rowsPerBuffer - 1) / rowsPerBuffer];
+    for (int i = 0; i < buffers.length; i++) {
+      int bufferRows = Math.min(rowsPerBuffer, rows - i * rowsPerBuffer);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(bufferRows * rowSize);
+      for (int row = 0; row < bufferRows; row++) {
+        buffer.put(composition);
+      }
+      buffers[i] = buffer;
+    }
+  }
+
+  /**
+   * Allocates and returns a bank of {@code rows} shoes, each holding {@code decks} standard decks,
+   * in the order of a newly created {@link Deck}, repeated.
+   *
+   * @param rows number of shoes.
+   * @param decks number of decks per shoe.
+   * @return new bank of unshuffled shoes.
+   * @throws IllegalArgumentException if {@code rows} or {@code decks} is not positive.
+   */
+  public static ShoeBank allocate(int rows, int decks) {
+    if (decks <= 0) {
+      throw new IllegalArgumentException(BAD_DECKS);
+    }
+    byte[] deck = new Deck().toOrdinals();
+    byte[] composition = new byte[decks * deck.length];
+    for (int i = 0; i < decks; i++) {
+      System.arraycopy(deck, 0, composition, i * deck.length, deck.length);
+    }
+    return allocate(rows, composition);
+  }
+
+  /**
+   * Allocates and returns a bank of {@code rows} shoes, each holding the cards remaining (i.e. not
+   * already drawn) in {@code decks}, in order. The decks themselves are not modified.
+   *
+   * @param rows number of shoes.
+   * @param decks source of the cards in each shoe.
+   * @return new bank of unshuffled shoes.
+   * @throws IllegalArgumentException if {@code rows} is not positive, or {@code decks} contains no
+   *                                  cards.
+   */
+  public static ShoeBank allocate(int rows, Collection<Deck> decks) {
+    byte[] composition = new byte[decks.stream().mapToInt(Deck::size).sum()];
+    int offset = 0;
+    for (Deck deck : decks) {
+      byte[] ordinals = deck.toOrdinals();
+      System.arraycopy(ordinals, 0, composition, offset, ordinals.length);
+      offset += ordinals.length;
+    }
+    return allocate(rows, composition);
+  }
+
+  private static ShoeBank allocate(int rows, byte[] composition) {
+    if (rows <= 0) {
+      throw new IllegalArgumentException(BAD_ROWS);
+    }
+    if (composition.length == 0) {
+      throw new IllegalArgumentException(EMPTY_COMPOSITION);
+    }
+    return new ShoeBank(rows, composition);
+  }
+
+  /**
+   * Returns the number of shoes (rows) in this bank.
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of cards in each shoe, whether drawn or not.
+   */
+  public int rowSize() {
+    return rowSize;
+  }
+
+  /**
+   * Returns the number of cards remaining to be drawn from the specified shoe.
+   *
+   * @param row index of shoe.
+   * @return count of cards remaining.
+   * @throws IndexOutOfBoundsException if {@code row} is out of range.
+   */
+  public int remaining(int row) {
+    return rowSize - cursors[Objects.checkIndex(row, rows)];
+  }
+
+  /**
+   * Removes and returns a single {@link Card} from the specified shoe, or {@code null} if the shoe
+   * is exhausted.
+   *
+   * @param row index of shoe.
+   * @return next card in shoe, or {@code null}.
+   * @throws IndexOutOfBoundsException if {@code row} is out of range.
+   * @throws IllegalStateException if this bank has been closed.
+   */
+  public Card draw(int row) {
+    Objects.checkIndex(row, rows);
+    Card card = null;
+    int cursor = cursors[row];
+    if (cursor < rowSize) {
+      card = Card.of(buffer(row).get(offset(row) + cursor));
+      cursors[row] = cursor + 1;
+    }
+    return card;
+  }
+
+  /**
+   * Removes up to {@code len} cards from the specified shoe, placing their ordinals, in order, in
+   * {@code dst}, starting at position {@code off}.
+   *
+   * @param row index of shoe.
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to draw.
+   * @return number of cards drawn (less than {@code len} only if the shoe is exhausted).
+   * @throws IndexOutOfBoundsException if {@code row} is out of range, or if {@code off} and {@code
+   *                                   len} do not specify a valid range of {@code dst}.
+   * @throws IllegalStateException if this bank has been closed.
+   */
+  public int drawOrdinals(int row, byte[] dst, int off, int len) {
+    Objects.checkIndex(row, rows);
+    Objects.checkFromIndexSize(off, len, dst.length);
+    int cursor = cursors[row];
+    int count = Math.min(len, rowSize - cursor);
+    buffer(row).get(offset(row) + cursor, dst, off, count);
+    cursors[row] = cursor + count;
+    return count;
+  }
+
+  /**
+   * Gathers all cards drawn from the specified shoe back into it, and shuffles it.
+   *
+   * @param row index of shoe.
+   * @param rng source of randomness.
+   * @throws IndexOutOfBoundsException if {@code row} is out of range.
+   * @throws IllegalStateException if this bank has been closed.
+   */
+  public void shuffle(int row, RandomGenerator rng) {
+    shuffleRow(Objects.checkIndex(row, rows), rng, new byte[rowSize]);
+  }
+
+  /**
+   * Gathers and shuffles all shoes, in parallel. The rows are divided into blocks of a fixed size
+   * (independent of the number of processors), and each block is shuffled using its own source of
+   * randomness, split from {@code rng}; thus, for a given number of rows and root generator state,
+   * the results are the same on every host, regardless of thread scheduling.
+   *
+   * @param rng root source of randomness.
+   * @throws IllegalStateException if this bank has been closed.
+   */
+  public void shuffleAll(SplittableGenerator rng) {
+    RandomGenerator[] rngs = RandomSources.split(rng, Blocks.count(rows, ROWS_PER_BLOCK));
+    Blocks.forEach(rows, ROWS_PER_BLOCK, (block, start, end) -> {
+      byte[] scratch = new byte[rowSize];
+      for (int row = start; row < end; row++) {
+        shuffleRow(row, rngs[block], scratch);
+      }
+    });
+  }
+
+  /**
+   * Draws up to {@code count} cards from every shoe, in parallel, passing the ordinals of the
+   * cards drawn from each to {@code action}. The array passed to {@code action} is reused for
+   * subsequent rows in the same block, so it must not be retained; {@code action} may be
+   * invoked concurrently for different rows.
+   *
+   * @param count maximum number of cards to draw from each shoe.
+   * @param action consumer of the cards drawn from each shoe.
+   * @throws IllegalArgumentException if {@code count} is negative.
+   * @throws IllegalStateException if this bank has been closed.
+   */
+  public void drawAll(int count, RowAction action) {
+    if (count < 0) {
+      throw new IllegalArgumentException(BAD_COUNT);
+    }
+    Blocks.forEach(rows, ROWS_PER_BLOCK, (block, start, end) -> {
+      byte[] dealt = new byte[count];
+      for (int row = start; row < end; row++) {
+        action.accept(row, dealt, drawOrdinals(row, dealt, 0, count));
+      }
+    });
+  }
+
+  /**
+   * Returns the total number of cards of the specified {@link Rank} remaining to be drawn, across
+   * all shoes, counted in parallel.
+   *
+   * @param rank {@link Rank} of cards to count.
+   * @return count of remaining cards of {@code rank}.
+   * @throws IllegalStateException if this bank has been closed.
+   */
+  public long remainingCount(Rank rank) {
+    int ranks = Rank.values().length;
+    int target = rank.ordinal();
+    return Blocks.sum(rows, ROWS_PER_BLOCK, (start, end) -> {
+      byte[] scratch = new byte[rowSize];
+      long count = 0;
+      for (int row = start; row < end; row++) {
+        int cursor = cursors[row];
+        buffer(row).get(offset(row) + cursor, scratch, cursor, rowSize - cursor);
+        for (int i = cursor; i < rowSize; i++) {
+          if (scratch[i] % ranks == target) {
+            count++;
+          }
+        }
+      }
+      return count;
+    });
+  }
+
+  /**
+   * Returns summary statistics of the number of cards remaining to be drawn from each shoe.
+   *
+   * @return statistics over all shoes.
+   */
+  public IntSummaryStatistics remainingStatistics() {
+    return IntStream.range(0, rows)
+        .parallel()
+        .map((row) -> rowSize - cursors[row])
+        .summaryStatistics();
+  }
+
+  /**
+   * Releases this bank's references to its off-heap buffers. Any subsequent attempt to access the
+   * cards in the bank fails with an {@link IllegalStateException}.
+   */
+  @Override
+  public void close() {
+    buffers = null;
+  }
+
+  private void shuffleRow(int row, RandomGenerator rng, byte[] scratch) {
+    ByteBuffer buffer = buffer(row);
+    int offset = offset(row);
+    buffer.get(offset, scratch, 0, rowSize);
+    Shuffler.shuffle(scratch, 0, rowSize, rng);
+    buffer.put(offset, scratch, 0, rowSize);
+    cursors[row] = 0;
+  }
+
+  private ByteBuffer buffer(int row) {
+    ByteBuffer[] buffers = this.buffers;
+    if (buffers == null) {
+      throw new IllegalStateException(CLOSED);
+    }
+    return buffers[row / rowsPerBuffer];
+  }
+
+  private int offset(int row) {
+    return (row % rowsPerBuffer) * rowSize;
+  }
+
+  /**
+   * Receives the cards drawn from each shoe by {@link #drawAll(int, RowAction)}.
+   */
+  @FunctionalInterface
+  public interface RowAction {
+
+    /**
+     * Processes the cards drawn from a single shoe.
+     *
+     * @param row index of shoe.
+     * @param ordinals ordinals of cards drawn, in positions 0 to {@code count} - 1.
+     * @param count number of cards drawn.
+     */
+    void accept(int row, byte[] ordinals, int count);
+
+  }
+
+}
@@ -15,13 +15,19 @@
  */
 package edu.cnm.deepdive.model;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Declares (and provides some partial default implementation of) shuffling-related methods. This
  * is primarily intended to declare a standard set of methods for card-game-related shuffling
  * operations.
  *
+ * <p>Sources of randomness are specified as {@link RandomGenerator} instances, so that the
+ * algorithm may be chosen to suit the application&mdash;e.g. {@link java.security.SecureRandom} for
+ * real-money dealing, or a fast, splittable algorithm (see {@link RandomSources}) with a separate
+ * instance per thread, for simulations.</p>
+ *
  * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
  */
 public interface Shuffleable {
@@ -32,17 +38,17 @@ public interface Shuffleable {
    *
    * @param rng source of randomness.
    */
-  void shuffle(Random rng);
+  void shuffle(RandomGenerator rng);
 
   /**
    * Returns a fallback source of randomness, to be used when the {@link #shuffle()} method is
-   * invoked. Note that the default implementation returns an instance of {@link Random}, which is
-   * generally <strong>not</strong> suitable for commercial gaming purposes.
+   * invoked. Note that the default implementation returns the {@link ThreadLocalRandom} instance
+   * for the current thread, which is <strong>not</strong> suitable for commercial gaming purposes.
    *
    * @return fallback source of randomness.
    */
-  default Random getRng() {
-    return new Random();
+  default RandomGenerator getRng() {
+    return ThreadLocalRandom.current();
   }
 
   /**
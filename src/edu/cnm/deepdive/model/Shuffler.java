@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+/**
+ * Implements an unbiased Fisher&ndash;Yates shuffle that is economical in its use of the source
+ * of randomness. Rather than requesting one bounded integer per card from the source, this
+ * implementation requests 64-bit words, and extracts several bounded integers from each word,
+ * using the batched form of Lemire's nearly-divisionless method:
+ *
+ * <ul>
+ *   <li><p>Consecutive bounds <em>b</em><sub>1</sub>, &hellip;, <em>b</em><sub>k</sub> are
+ *   grouped into a batch while their product <em>P</em> is less than 2<sup>64</sup>.</p></li>
+ *   <li><p>A random 64-bit word <em>r</em> is multiplied by each bound in turn: the high 64 bits of
+ *   each 128-bit product are taken as the bounded integer, and the low 64 bits become the
+ *   multiplicand for the next bound.</p></li>
+ *   <li><p>If the final low 64 bits are less than 2<sup>64</sup> mod <em>P</em>, the entire batch
+ *   is rejected and regenerated. This (rare) rejection makes the result exactly uniform; the
+ *   modulus is only computed when the low bits are less than <em>P</em>, so a division is almost
+ *   never required.</p></li>
+ * </ul>
+ *
+ * <p>A 52-card shuffle thus consumes 4 64-bit words (barring rejection), rather than 51 bounded
+ * integers&mdash;a substantial saving for sources such as {@link java.security.SecureRandom},
+ * where each request is expensive.</p>
+ *
+ * <p>The shuffle is performed in the "forward" direction: at each step, the card at the current
+ * position is swapped with one selected uniformly from those at or after that position. This
+ * allows a shuffle to be performed incrementally (see {@link #shuffle(byte[], int, int, int,
+ * RandomGenerator)}), with each step completed independently of the steps that follow.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class Shuffler {
+
+  private static final String BAD_BOUND = "Bound must be positive.";
+
+  private Shuffler() {
+    // Non-instantiable utility class.
+  }
+
+  /**
+   * Shuffles the elements of {@code values} in the range [{@code from}, {@code to}).
+   *
+   * @param values array containing the elements to shuffle.
+   * @param from start (inclusive) of the range to shuffle.
+   * @param to end (exclusive) of the range to shuffle.
+   * @param rng source of randomness.
+   * @throws IndexOutOfBoundsException if the range is not valid for {@code values}.
+   */
+  public static void shuffle(byte[] values, int from, int to, RandomGenerator rng) {
+    shuffle(values, from, to, Math.max(to - from - 1, 0), rng);
+  }
+
+  /**
+   * Performs the first {@code steps} steps of a forward Fisher&ndash;Yates shuffle of the elements
+   * of {@code values} in the range [{@code from}, {@code to}). On completion, the elements at
+   * positions {@code from} to {@code from + steps - 1} are a uniformly selected random
+   * arrangement of a random selection of the elements in the range; the remaining elements may be
+   * shuffled by a subsequent invocation, starting at {@code from + steps}.
+   *
+   * @param values array containing the elements to shuffle.
+   * @param from start (inclusive) of the range to shuffle.
+   * @param to end (exclusive) of the range to shuffle.
+   * @param steps number of positions to fill, starting at {@code from}.
+   * @param rng source of randomness.
+   * @throws IndexOutOfBoundsException if the range is not valid for {@code values}, or {@code
+   *                                   steps} is negative or greater than the size of the range.
+   */
+  public static void shuffle(byte[] values, int from, int to, int steps, RandomGenerator rng) {
+    Objects.checkFromToIndex(from, to, values.length);
+    Objects.checkIndex(steps, to - from + 1);
+    int end = from + steps;
+    int position = from;
+    while (position < end) {
+      int batchEnd = batchEnd(position, end, to);
+      long product = batchProduct(position, batchEnd, to);
+      long word = nextAcceptedWord(position, batchEnd, to, product, rng);
+      for (int i = position; i < batchEnd; i++) {
+        long bound = to - i;
+        int j = i + (int) unsignedMultiplyHigh(word, bound);
+        word *= bound;
+        byte temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+      }
+      position = batchEnd;
+    }
+  }
+
+  /**
+   * Returns a uniformly distributed integer in the range [0, {@code bound}), using Lemire's
+   * nearly-divisionless method on a single 64-bit word from {@code rng}.
+   *
+   * @param rng source of randomness.
+   * @param bound upper bound (exclusive) of the value returned.
+   * @return random value.
+   * @throws IllegalArgumentException if {@code bound} is not positive.
+   */
+  public static int nextInt(RandomGenerator rng, int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException(BAD_BOUND);
+    }
+    long word;
+    long low;
+    do {
+      word = rng.nextLong();
+      low = word * bound;
+    } while (Long.compareUnsigned(low, bound) < 0
+        && Long.compareUnsigned(low, Long.remainderUnsigned(-bound, bound)) < 0);
+    return (int) unsignedMultiplyHigh(word, bound);
+  }
+
+  private static int batchEnd(int start, int end, int to) {
+    long product = 1;
+    int i = start;
+    while (i < end && unsignedMultiplyHigh(product, to - i) == 0) {
+      product *= to - i;
+      i++;
+    }
+    return i;
+  }
+
+  private static long batchProduct(int start, int end, int to) {
+    long product = 1;
+    for (int i = start; i < end; i++) {
+      product *= to - i;
+    }
+    return product;
+  }
+
+  private static long nextAcceptedWord(int start, int end, int to, long product,
+      RandomGenerator rng) {
+    long word;
+    long low;
+    do {
+      word = rng.nextLong();
+      low = word;
+      for (int i = start; i < end; i++) {
+        low *= to - i;
+      }
+    } while (Long.compareUnsigned(low, product) < 0
+        && Long.compareUnsigned(low, Long.remainderUnsigned(-product, product)) < 0);
+    return word;
+  }
+
+  private static long unsignedMultiplyHigh(long x, long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+}
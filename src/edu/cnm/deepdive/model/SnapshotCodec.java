@@ -0,0 +1,358 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.random.RandomGenerator;
+
+/**
+ * Encodes the state of {@link Deck} and {@link Shoe} instances as compact binary snapshots, and
+ * restores instances from those snapshots. Each snapshot consists of a 12-byte header, followed by
+ * the state of the underlying pile:
+ * <ul>
+ *   <li><p>header: a magic number (4 bytes), format version (1 byte), kind of stock (1 byte: deck
+ *   or shoe), flags (1 byte: lazy shuffle, continuous shuffle, shuffle on create), a reserved
+ *   byte, and the reshuffle trigger point (4 bytes; 0 for a deck);</p></li>
+ *   <li><p>pile state: the number of cards drawn and the number remaining (4 bytes each), followed
+ *   by the ordinals of the drawn cards (in the order drawn) and of the remaining cards (in the
+ *   order they will be drawn), one byte per card.</p></li>
+ * </ul>
+ * <p>All multi-byte values are big-endian. Snapshots are self-delimiting, so any number of them may
+ * be written consecutively to a single buffer or file; {@link Writer} and {@link Reader} do so
+ * through NIO channels (e.g. {@link java.nio.channels.FileChannel}), with a reusable buffer.</p>
+ *
+ * <p>Any pending lazy shuffle is completed before a snapshot is taken, so the snapshot records the
+ * order in which the remaining cards will be drawn. The state of the source of randomness is not
+ * recorded; a source is supplied when a snapshot is restored.</p>
+ *
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class SnapshotCodec {
+
+  /** Magic number identifying a snapshot (the ASCII characters {@code "CDSN"}). */
+  public static final int MAGIC = 0x4344534E;
+  /** Current snapshot format version. */
+  public static final byte VERSION = 1;
+  /** Size of the snapshot header, in bytes. */
+  public static final int HEADER_SIZE = 12;
+
+  private static final byte DECK = 1;
+  private static final byte SHOE = 2;
+  private static final byte LAZY_SHUFFLE = 1;
+  private static final byte CONTINUOUS_SHUFFLE = 2;
+  private static final byte SHUFFLE_ON_CREATE = 4;
+  private static final int STATE_COUNTS_SIZE = 2 * Integer.BYTES;
+  private static final String UNSUPPORTED_STOCK = "Only Deck and Shoe instances may be encoded.";
+  private static final String BAD_MAGIC = "Buffer does not contain a snapshot.";
+  private static final String BAD_VERSION = "Unsupported snapshot version: %d.";
+  private static final String BAD_KIND = "Unexpected kind of stock in snapshot: %d.";
+  private static final String TRUNCATED = "Snapshot is truncated.";
+  private static final String BAD_SIZE = "Snapshot has an invalid number of cards.";
+
+  private SnapshotCodec() {
+    // Non-instantiable utility class.
+  }
+
+  /**
+   * Returns the size, in bytes, of the snapshot of {@code stock}.
+   *
+   * @param stock {@link Deck} or {@link Shoe} instance.
+   * @return size of snapshot.
+   */
+  public static int encodedSize(Stock stock) {
+    return HEADER_SIZE + stock.stateSize();
+  }
+
+  /**
+   * Writes a snapshot of {@code stock} to {@code dst}, starting at its current position.
+   *
+   * @param stock {@link Deck} or {@link Shoe} instance.
+   * @param dst destination buffer.
+   * @throws IllegalArgumentException if {@code stock} is neither a {@link Deck} nor a {@link
+   *                                  Shoe}.
+   * @throws java.nio.BufferOverflowException if {@code dst} has fewer than {@link
+   *                                          #encodedSize(Stock)} bytes remaining.
+   */
+  public static void encode(Stock stock, ByteBuffer dst) {
+    byte kind;
+    byte flags;
+    int trigger;
+    if (stock instanceof Shoe) {
+      Shoe shoe = (Shoe) stock;
+      kind = SHOE;
+      flags = (byte) ((shoe.isLazyShuffle() ? LAZY_SHUFFLE : 0)
+          | (shoe.isContinuousShuffle() ? CONTINUOUS_SHUFFLE : 0)
+          | (shoe.isShuffleOnCreate() ? SHUFFLE_ON_CREATE : 0));
+      trigger = shoe.getReshuffleTrigger();
+    } else if (stock instanceof Deck) {
+      kind = DECK;
+      flags = ((Deck) stock).isLazyShuffle() ? LAZY_SHUFFLE : 0;
+      trigger = 0;
+    } else {
+      throw new IllegalArgumentException(UNSUPPORTED_STOCK);
+    }
+    dst.putInt(MAGIC)
+        .put(VERSION)
+        .put(kind)
+        .put(flags)
+        .put((byte) 0)
+        .putInt(trigger);
+    stock.writeState(dst);
+  }
+
+  /**
+   * Restores a {@link Deck} or {@link Shoe} from the snapshot at the current position of {@code
+   * src}, leaving the position of {@code src} immediately after the snapshot.
+   *
+   * @param src source buffer.
+   * @param rng source of randomness for the restored instance (required for a {@link Shoe}; if
+   *            {@code null}, a {@link Deck} uses its default source).
+   * @return restored instance.
+   * @throws IllegalArgumentException if the snapshot is invalid.
+   * @throws java.nio.BufferUnderflowException if {@code src} does not contain the complete
+   *                                           snapshot.
+   */
+  public static Stock decode(ByteBuffer src, RandomGenerator rng) {
+    if (src.getInt() != MAGIC) {
+      throw new IllegalArgumentException(BAD_MAGIC);
+    }
+    byte version = src.get();
+    if (version != VERSION) {
+      throw new IllegalArgumentException(String.format(BAD_VERSION, version));
+    }
+    byte kind = src.get();
+    byte flags = src.get();
+    boolean lazy = (flags & LAZY_SHUFFLE) != 0;
+    boolean continuous = (flags & CONTINUOUS_SHUFFLE) != 0;
+    boolean shuffleOnCreate = (flags & SHUFFLE_ON_CREATE) != 0;
+    src.get();
+    int trigger = src.getInt();
+    Stock stock;
+    if (kind == SHOE) {
+      // The pile state supplies its own storage, so none is preallocated.
+      stock = new Shoe(0, rng, trigger, lazy, shuffleOnCreate, continuous);
+    } else if (kind == DECK) {
+      Deck deck = new Deck();
+      deck.setLazyShuffle(lazy);
+      if (rng != null) {
+        deck.setRng(rng);
+      }
+      stock = deck;
+    } else {
+      throw new IllegalArgumentException(String.format(BAD_KIND, kind));
+    }
+    stock.readState(src);
+    return stock;
+  }
+
+  /**
+   * Restores a {@link Deck} from the snapshot at the current position of {@code src}.
+   *
+   * @param src source buffer.
+   * @return restored instance.
+   * @throws IllegalArgumentException if the snapshot is invalid, or is not that of a deck.
+   * @throws java.nio.BufferUnderflowException if {@code src} does not contain the complete
+   *                                           snapshot.
+   */
+  public static Deck decodeDeck(ByteBuffer src) {
+    checkKind(src, DECK);
+    return (Deck) decode(src, null);
+  }
+
+  /**
+   * Restores a {@link Shoe} from the snapshot at the current position of {@code src}.
+   *
+   * @param src source buffer.
+   * @param rng source of randomness for the restored shoe.
+   * @return restored instance.
+   * @throws IllegalArgumentException if the snapshot is invalid, or is not that of a shoe.
+   * @throws java.nio.BufferUnderflowException if {@code src} does not contain the complete
+   *                                           snapshot.
+   */
+  public static Shoe decodeShoe(ByteBuffer src, RandomGenerator rng) {
+    checkKind(src, SHOE);
+    return (Shoe) decode(src, rng);
+  }
+
+  private static void checkKind(ByteBuffer src, byte expected) {
+    byte kind = src.get(src.position() + Integer.BYTES + 1);
+    if (kind != expected) {
+      throw new IllegalArgumentException(String.format(BAD_KIND, kind));
+    }
+  }
+
+  /**
+   * Writes consecutive snapshots to a {@link WritableByteChannel}, through a reusable buffer.
+   * Snapshots are accumulated in the buffer, which is written to the channel when full, and on
+   * {@link #flush()} or {@link #close()}.
+   */
+  public static class Writer implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private ByteBuffer buffer;
+
+    /**
+     * Initializes the writer with the specified destination channel.
+     *
+     * @param channel destination of snapshots.
+     */
+    public Writer(WritableByteChannel channel) {
+      this.channel = channel;
+      buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a snapshot of {@code stock}.
+     *
+     * @param stock {@link Deck} or {@link Shoe} instance.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if {@code stock} is neither a {@link Deck} nor a {@link
+     *                                  Shoe}.
+     */
+    public void write(Stock stock) throws IOException {
+      int size = encodedSize(stock);
+      if (buffer.remaining() < size) {
+        flush();
+        if (buffer.capacity() < size) {
+          buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size) << 1);
+        }
+      }
+      encode(stock, buffer);
+    }
+
+    /**
+     * Writes any buffered snapshots to the channel.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    public void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    /**
+     * Writes any buffered snapshots to the channel, and then closes the channel.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+      try {
+        flush();
+      } finally {
+        channel.close();
+      }
+    }
+
+  }
+
+  /**
+   * Reads consecutive snapshots from a {@link ReadableByteChannel}, through a reusable buffer.
+   */
+  public static class Reader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final int PREFIX_SIZE = HEADER_SIZE + STATE_COUNTS_SIZE;
+
+    private final ReadableByteChannel channel;
+    private ByteBuffer buffer;
+
+    /**
+     * Initializes the reader with the specified source channel.
+     *
+     * @param channel source of snapshots.
+     */
+    public Reader(ReadableByteChannel channel) {
+      this.channel = channel;
+      buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+      buffer.flip();
+    }
+
+    /**
+     * Reads and restores the next snapshot.
+     *
+     * @param rng source of randomness for the restored instance (see {@link #decode(ByteBuffer,
+     *            RandomGenerator)}).
+     * @return restored {@link Deck} or {@link Shoe}; {@code null} if the end of the channel has
+     * been reached.
+     * @throws IOException if an I/O error occurs, or the channel ends part way through a snapshot.
+     * @throws IllegalArgumentException if the snapshot is invalid.
+     */
+    public Stock read(RandomGenerator rng) throws IOException {
+      Stock stock = null;
+      if (fill(PREFIX_SIZE)) {
+        int position = buffer.position();
+        long cards = (long) buffer.getInt(position + HEADER_SIZE)
+            + buffer.getInt(position + HEADER_SIZE + Integer.BYTES);
+        if (cards < 0 || cards > Integer.MAX_VALUE - PREFIX_SIZE) {
+          throw new IllegalArgumentException(BAD_SIZE);
+        }
+        if (!fill(PREFIX_SIZE + (int) cards)) {
+          throw new EOFException(TRUNCATED);
+        }
+        stock = decode(buffer, rng);
+      }
+      return stock;
+    }
+
+    /**
+     * Closes the channel.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+
+    private boolean fill(int required) throws IOException {
+      if (buffer.remaining() < required) {
+        if (buffer.capacity() < required) {
+          ByteBuffer larger = ByteBuffer.allocateDirect(Integer.highestOneBit(required) << 1);
+          larger.put(buffer);
+          buffer = larger;
+        } else {
+          buffer.compact();
+        }
+        while (buffer.position() < required) {
+          if (channel.read(buffer) < 0) {
+            break;
+          }
+        }
+        buffer.flip();
+        if (buffer.remaining() < required) {
+          if (buffer.hasRemaining()) {
+            throw new EOFException(TRUNCATED);
+          }
+          return false;
+        }
+      }
+      return true;
+    }
+
+  }
+
+}
@@ -14,26 +14,61 @@
  *  limitations under the License.
  */package edu.cnm.deepdive.model;
 
-import java.util.LinkedList;
+import edu.cnm.deepdive.model.DealEvents.DealEvent;
+import edu.cnm.deepdive.model.DealEvents.GatherEvent;
+import edu.cnm.deepdive.model.DealEvents.ShuffleEvent;
+import edu.cnm.deepdive.model.Suit.Color;
 import java.util.List;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Extends {@link Pile} to add functionality to draw from the ordered collection of cards. {@link
- * Card} instances drawn are maintained in a separate list that can be gathered back into the
- * original collection. This is intended to be used as a base class for decks, shoes, drawable
- * discard piles, etc.
+ * Card} instances drawn are retained, in the order drawn, ahead of the cards remaining in the
+ * underlying storage, so that they can be gathered back into the original collection simply by
+ * resetting the draw cursor. This is intended to be used as a base class for decks, shoes,
+ * drawable discard piles, etc.
+ *
+ * <p>Optionally, every card drawn from a stock, and every gather and shuffle of the stock, may be
+ * recorded in a {@link DealJournal} (see {@link #setJournal(DealJournal, int)}), and counted and
+ * timed in a {@link DealMetrics} instance (see {@link #setMetrics(DealMetrics)}). Bulk draws,
+ * gathers, and shuffles also emit Java Flight Recorder events (see {@link DealEvents}), when those
+ * are enabled in a running recording; otherwise, no event objects are allocated.</p>
+ *
+ * <p>The journal slots for the records of each operation are reserved before the stock is
+ * modified, so if an attached journal is full, the operation fails with an {@link
+ * IllegalStateException}, leaving the stock unchanged.</p>
  *
  * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
  */
 public abstract class Stock extends Pile {
 
-  private final List<Card> drawn;
+  private static final String BAD_DRAW_COUNT = "Number of cards to draw must be non-negative.";
+  private static final String BAD_KEEP_COUNT =
+      "Number of cards kept must be between 0 and the number of cards drawn.";
+
+  private DealJournal journal;
+  private int journalId;
+  private int epoch;
+  private DealMetrics metrics;
 
   /**
    * Initializes this instance with an empty collection of drawn cards.
    */
   protected Stock() {
-    drawn = new LinkedList<>();
+    super();
+  }
+
+  /**
+   * Initializes this instance with an empty collection of drawn cards, and sufficient initial
+   * capacity for the specified number of cards.
+   *
+   * @param capacity initial capacity.
+   */
+  protected Stock(int capacity) {
+    super(capacity);
   }
 
   /**
@@ -42,31 +77,357 @@ public abstract class Stock extends Pile {
    * which can be gathered back into the deck using the {@link #gather()} method.
    *
    * @return first (top) top {@link Card} instance in stockpile; null if the stockpile is empty.
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
    */
   public Card draw() {
+    long slot = reserve(Math.min(1, size()));
     Card card = remove();
     if (card != null) {
-      drawn.add(card);
+      if (journal != null) {
+        journal.write(slot, journalId, epoch, removedCount() - 1, DealJournal.DRAW,
+            card.ordinal());
+      }
+      if (metrics != null) {
+        metrics.recordDraw();
+      }
     }
     return card;
   }
 
   /**
-   * Returns a reference to the collection of {@link Card} instances drawn from this stock since
-   * instantiation or the most recent invocation of {@link #gather()}.
+   * Removes and returns up to {@code n} {@link Card} instances from the top of the stock, in a
+   * single operation. The cards drawn are also added to the list of drawn cards, exactly as if
+   * {@link #draw()} had been invoked repeatedly.
+   *
+   * @param n maximum number of cards to draw.
+   * @return array of the cards drawn, in order; this will be shorter than {@code n} if fewer than
+   * {@code n} cards remain.
+   * @throws IllegalArgumentException if {@code n} is negative.
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
+   */
+  public Card[] draw(int n) {
+    if (n < 0) {
+      throw new IllegalArgumentException(BAD_DRAW_COUNT);
+    }
+    DealEvent event = DealEvents.beginDeal();
+    long start = startTiming();
+    Card[] cards = new Card[Math.min(n, size())];
+    long slot = reserve(cards.length);
+    recordDraws(removeCards(cards, 0, cards.length), slot, start, event);
+    return cards;
+  }
+
+  /**
+   * Removes up to {@code len} {@link Card} instances from the top of the stock, placing them, in
+   * order, in {@code dst}, starting at position {@code off}. The cards drawn are also added to the
+   * list of drawn cards, exactly as if {@link #draw()} had been invoked repeatedly.
+   *
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to draw.
+   * @return number of cards drawn (less than {@code len} only if the stock is exhausted).
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} do not specify a valid range
+   *                                   of {@code dst}.
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
+   */
+  public int drawInto(Card[] dst, int off, int len) {
+    DealEvent event = DealEvents.beginDeal();
+    long start = startTiming();
+    long slot = reserveDraws(dst.length, off, len);
+    return recordDraws(removeCards(dst, off, len), slot, start, event);
+  }
+
+  /**
+   * Removes up to {@code len} cards from the top of the stock, placing their ordinals (see {@link
+   * Card#ordinal()}), in order, in {@code dst}, starting at position {@code off}. The cards drawn
+   * are also added to the list of drawn cards, exactly as if {@link #draw()} had been invoked
+   * repeatedly.
+   *
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to draw.
+   * @return number of cards drawn (less than {@code len} only if the stock is exhausted).
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} do not specify a valid range
+   *                                   of {@code dst}.
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
+   */
+  public int drawOrdinals(int[] dst, int off, int len) {
+    DealEvent event = DealEvents.beginDeal();
+    long start = startTiming();
+    long slot = reserveDraws(dst.length, off, len);
+    return recordDraws(removeOrdinals(dst, off, len), slot, start, event);
+  }
+
+  /**
+   * Removes up to {@code len} cards from the top of the stock, placing their ordinals (see {@link
+   * Card#ordinal()}), in order, in {@code dst}, starting at position {@code off}. The cards drawn
+   * are also added to the list of drawn cards, exactly as if {@link #draw()} had been invoked
+   * repeatedly.
+   *
+   * @param dst destination array.
+   * @param off starting position in {@code dst}.
+   * @param len maximum number of cards to draw.
+   * @return number of cards drawn (less than {@code len} only if the stock is exhausted).
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} do not specify a valid range
+   *                                   of {@code dst}.
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
+   */
+  public int drawOrdinals(byte[] dst, int off, int len) {
+    DealEvent event = DealEvents.beginDeal();
+    long start = startTiming();
+    long slot = reserveDraws(dst.length, off, len);
+    return recordDraws(removeOrdinals(dst, off, len), slot, start, event);
+  }
+
+  /**
+   * Returns a read-only view of the collection of {@link Card} instances drawn from this stock
+   * since instantiation or the most recent invocation of {@link #gather()}, in the order drawn.
    */
   protected List<Card> getDrawn() {
-    return drawn;
+    return getRemoved();
   }
 
   /**
-   * Returns all cards previously drawn to the stockpile. Note that this will not return the cards
-   * their originally order (unless all of the cards have been drawn); instead, the gathered cards
-   * will be after (beneath) those that were not already drawn.
+   * Returns a sequential {@link Stream} of the cards drawn from this stock since instantiation or
+   * the most recent invocation of {@link #gather()}, in the order drawn, read directly from the
+   * underlying storage (see {@link #spliterator()}).
+   *
+   * @return stream of drawn cards.
+   */
+  public Stream<Card> drawnStream() {
+    return StreamSupport.stream(removedSpliterator(), false);
+  }
+
+  /**
+   * Returns a parallel {@link Stream} of the cards drawn from this stock since instantiation or the
+   * most recent invocation of {@link #gather()} (see {@link #drawnStream()}).
+   *
+   * @return parallel stream of drawn cards.
+   */
+  public Stream<Card> parallelDrawnStream() {
+    return StreamSupport.stream(removedSpliterator(), true);
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Suit} drawn from this stock since
+   * instantiation or the most recent invocation of {@link #gather()}. Like the counts of cards
+   * remaining (see {@link #count(Suit)}), this is maintained incrementally, as cards are drawn and
+   * gathered.
+   *
+   * @param suit {@link Suit} of cards to count.
+   * @return count of drawn cards of {@code suit}.
+   */
+  public int drawnCount(Suit suit) {
+    return removedCount(suit);
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Rank} drawn from this stock (see {@link
+   * #drawnCount(Suit)}).
+   *
+   * @param rank {@link Rank} of cards to count.
+   * @return count of drawn cards of {@code rank}.
+   */
+  public int drawnCount(Rank rank) {
+    return removedCount(rank);
+  }
+
+  /**
+   * Returns the number of cards of the specified {@link Color} drawn from this stock (see {@link
+   * #drawnCount(Suit)}).
+   *
+   * @param color {@link Color} of cards to count.
+   * @return count of drawn cards of {@code color}.
+   */
+  public int drawnCount(Color color) {
+    return removedCount(color);
+  }
+
+  /**
+   * Returns all cards previously drawn to the stockpile. This is done by resetting the draw cursor,
+   * so the gathered cards are returned to the top of the stockpile, in the order in which they were
+   * drawn, above those that were not already drawn; thus, if no cards have been added since the
+   * most recent shuffle, the order of the stockpile following this operation is the same as it was
+   * immediately after that shuffle.
+   *
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
    */
   protected void gather() {
-    addAll(drawn);
-    drawn.clear();
+    GatherEvent event = DealEvents.beginGather();
+    int gathered = removedCount();
+    recordGather(gathered, reserve((gathered > 0) ? 1 : 0));
+    restore();
+    commitGather(event, gathered);
+  }
+
+  /**
+   * Returns all cards previously drawn to the stockpile, except the {@code keep} most recently
+   * drawn (e.g. cards still in play), which remain in the list of drawn cards. This is recorded as
+   * a gather of the cards returned. Since the order of the stockpile is not preserved (see {@link
+   * Pile#restoreExcept(int)}), this is intended only for use immediately before a shuffle.
+   *
+   * @param keep number of most recently drawn cards to keep out of the stockpile.
+   * @throws IllegalArgumentException if {@code keep} is negative, or greater than the number of
+   *                                  cards drawn.
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
+   */
+  protected void gatherExcept(int keep) {
+    if (keep < 0 || keep > removedCount()) {
+      throw new IllegalArgumentException(BAD_KEEP_COUNT);
+    }
+    GatherEvent event = DealEvents.beginGather();
+    int gathered = removedCount() - keep;
+    recordGather(gathered, reserve((gathered > 0) ? 1 : 0));
+    restoreExcept(keep);
+    commitGather(event, gathered);
+  }
+
+  /**
+   * Returns all cards previously drawn to the stockpile, as if each were reinserted at a uniformly
+   * random position, in constant time (see {@link Pile#reinsert(RandomGenerator)}). This is
+   * recorded as a gather, followed by the start of a new shuffle epoch in any attached {@link
+   * DealJournal}; it is not counted as a shuffle by any attached {@link DealMetrics}.
+   *
+   * @param rng source of randomness.
+   * @throws IllegalStateException if an attached {@link DealJournal} is full.
+   */
+  void reinsertDrawn(RandomGenerator rng) {
+    GatherEvent event = DealEvents.beginGather();
+    int gathered = removedCount();
+    int gatherRecords = (gathered > 0) ? 1 : 0;
+    long slot = reserve(gatherRecords + 1);
+    recordGather(gathered, slot);
+    reinsert(rng);
+    if (journal != null) {
+      journal.write(slot + gatherRecords, journalId, ++epoch, 0, DealJournal.SHUFFLE, 0);
+    }
+    commitGather(event, gathered);
+  }
+
+  /**
+   * Attaches a {@link DealJournal} to this stock, so that all subsequent draws, gathers, and
+   * shuffles are recorded in the journal, tagged with {@code id}; the shuffle epoch recorded is
+   * reset to zero. If {@code journal} is {@code null}, any journal previously attached is detached.
+   * Only the null check on the journal is added to the cost of a draw when no journal is attached.
+   *
+   * @param journal journal to attach, or {@code null}.
+   * @param id identifier of this stock in the journal.
+   */
+  public void setJournal(DealJournal journal, int id) {
+    this.journal = journal;
+    journalId = id;
+    epoch = 0;
+  }
+
+  /**
+   * Returns the {@link DealJournal} attached to this stock, or {@code null} if there is none.
+   */
+  public DealJournal getJournal() {
+    return journal;
+  }
+
+  /**
+   * Attaches a {@link DealMetrics} instance to this stock, so that all subsequent draws, gathers,
+   * and shuffles are counted and (where applicable) timed. A single instance may be attached to
+   * any number of stocks, to aggregate their metrics. If {@code metrics} is {@code null}, any
+   * instance previously attached is detached.
+   *
+   * @param metrics metrics collector to attach, or {@code null}.
+   */
+  public void setMetrics(DealMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Returns the {@link DealMetrics} instance attached to this stock, or {@code null} if there is
+   * none.
+   */
+  public DealMetrics getMetrics() {
+    return metrics;
+  }
+
+  @Override
+  boolean retainsRemoved() {
+    return true;
+  }
+
+  @Override
+  void shuffleCards(RandomGenerator rng, boolean lazy) {
+    ShuffleEvent event = DealEvents.beginShuffle();
+    long start = startTiming();
+    long slot = reserve(1);
+    super.shuffleCards(rng, lazy);
+    if (metrics != null) {
+      metrics.recordShuffle(System.nanoTime() - start);
+    }
+    if (event != null && event.shouldCommit()) {
+      event.stock = getClass().getName();
+      event.cards = size();
+      event.decks = (removedCount() + size()) / Card.COUNT;
+      event.rng = rng.getClass().getName();
+      event.lazy = lazy;
+      event.commit();
+    }
+    if (journal != null) {
+      journal.write(slot, journalId, ++epoch, 0, DealJournal.SHUFFLE, 0);
+    }
+  }
+
+  /**
+   * Reserves {@code count} consecutive slots in the attached journal (if any), returning the
+   * first; if there is no journal attached, or {@code count} is zero, nothing is reserved.
+   */
+  private long reserve(int count) {
+    return (journal != null && count > 0) ? journal.reserve(count) : 0;
+  }
+
+  /**
+   * Reserves journal slots for a bulk draw into the specified range of a destination array, after
+   * checking that range, so that an invalid range reserves nothing.
+   */
+  private long reserveDraws(int length, int off, int len) {
+    Objects.checkFromIndexSize(off, len, length);
+    return reserve(Math.min(len, size()));
+  }
+
+  private void recordGather(int gathered, long slot) {
+    if (journal != null && gathered > 0) {
+      journal.write(slot, journalId, epoch, gathered, DealJournal.GATHER, 0);
+    }
+    if (metrics != null) {
+      metrics.recordGather();
+    }
+  }
+
+  private void commitGather(GatherEvent event, int gathered) {
+    if (event != null && event.shouldCommit()) {
+      event.stock = getClass().getName();
+      event.cards = gathered;
+      event.commit();
+    }
+  }
+
+  private long startTiming() {
+    return (metrics != null) ? System.nanoTime() : 0;
+  }
+
+  private int recordDraws(int count, long slot, long start, DealEvent event) {
+    if (metrics != null) {
+      metrics.recordDeal(count, System.nanoTime() - start);
+    }
+    if (event != null && event.shouldCommit()) {
+      event.stock = getClass().getName();
+      event.cards = count;
+      event.commit();
+    }
+    if (journal != null) {
+      int first = removedCount() - count;
+      for (int i = 0; i < count; i++) {
+        journal.write(slot + i, journalId, epoch, first + i, DealJournal.DRAW,
+            ordinalAt(first + i));
+      }
+    }
+    return count;
   }
 
 }
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 2020 Deep Dive Coding/CNM Ingenuity, Inc.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package edu.cnm.deepdive.model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Maintains a bounded pool of idle {@link Stock} instances (e.g. {@link Deck} or {@link Shoe}), so
+ * that they can be recycled between games, rather than being rebuilt for each game and then
+ * garbage collected. A stock is reset (e.g. via {@link Deck#reset()} or {@link Shoe#reset()}) when
+ * it is released to the pool, so that every stock acquired from the pool is indistinguishable from
+ * a newly created one. If the pool is empty when a stock is acquired, a new one is created; if the
+ * pool is full when a stock is released, that stock is simply discarded.
+ *
+ * <p>Instances of this class may be shared by multiple threads; however, a stock acquired from the
+ * pool must not be used after it has been released.</p>
+ *
+ * @param <T> type of stock pooled.
+ * @author Nicholas Bennett &amp; Deep Dive Coding Java + Android Cohort 9.
+ */
+public final class StockPool<T extends Stock> {
+
+  private static final String BAD_MAX_IDLE = "Maximum number of idle instances must be positive.";
+
+  private final Supplier<? extends T> factory;
+  private final Consumer<? super T> reset;
+  private final BlockingQueue<T> idle;
+
+  /**
+   * Initializes this pool with the specified factory and reset operations.
+   *
+   * @param factory creates new instances when the pool is empty.
+   * @param reset restores a released instance to the state of a newly created one.
+   * @param maxIdle maximum number of idle instances retained by the pool.
+   * @throws IllegalArgumentException if {@code maxIdle} is not positive.
+   */
+  public StockPool(Supplier<? extends T> factory, Consumer<? super T> reset, int maxIdle) {
+    if (maxIdle <= 0) {
+      throw new IllegalArgumentException(BAD_MAX_IDLE);
+    }
+    this.factory = factory;
+    this.reset = reset;
+    idle = new ArrayBlockingQueue<>(maxIdle);
+  }
+
+  /**
+   * Creates and returns a pool of {@link Deck} instances.
+   *
+   * @param maxIdle maximum number of idle instances retained by the pool.
+   * @return pool of decks.
+   * @throws IllegalArgumentException if {@code maxIdle} is not positive.
+   */
+  public static StockPool<Deck> ofDecks(int maxIdle) {
+    return new StockPool<>(Deck::new, Deck::reset, maxIdle);
+  }
+
+  /**
+   * Creates and returns a pool of {@link Shoe} instances, each created by {@code builder}.
+   *
+   * @param builder {@link Shoe.Builder} used to create new instances.
+   * @param maxIdle maximum number of idle instances retained by the pool.
+   * @return pool of shoes.
+   * @throws IllegalArgumentException if {@code maxIdle} is not positive.
+   */
+  public static StockPool<Shoe> ofShoes(Shoe.Builder builder, int maxIdle) {
+    return new StockPool<>(builder::build, Shoe::reset, maxIdle);
+  }
+
+  /**
+   * Removes and returns an idle instance from the pool, or creates a new instance if there are
+   * none.
+   *
+   * @return stock in the state of a newly created instance.
+   */
+  public T acquire() {
+    T stock = idle.poll();
+    return (stock != null) ? stock : factory.get();
+  }
+
+  /**
+   * Resets {@code stock} and returns it to the pool, if the pool is not already full.
+   *
+   * @param stock instance previously acquired from this pool.
+   */
+  public void release(T stock) {
+    reset.accept(stock);
+    idle.offer(stock);
+  }
+
+  /**
+   * Returns the number of idle instances currently held by the pool. Since other threads may be
+   * acquiring and releasing instances concurrently, this is necessarily a snapshot.
+   *
+   * @return count of idle instances.
+   */
+  public int idleCount() {
+    return idle.size();
+  }
+
+}
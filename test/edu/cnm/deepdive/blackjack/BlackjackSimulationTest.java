@@ -0,0 +1,86 @@
+package edu.cnm.deepdive.blackjack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.cnm.deepdive.model.RandomSources;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class BlackjackSimulationTest {
+
+  @Test
+  void run() {
+    BlackjackSimulation.Summary summary = new BlackjackSimulation(
+        500_000, new BlackjackRules.Builder().build(), RandomSources.simulation(3)).run();
+    assertEquals(500_000, summary.getRounds());
+    assertTrue(summary.getHands() > summary.getRounds());
+    assertTrue(summary.getWagered() > summary.getHands());
+    assertTrue(summary.getHouseEdgeLowerBound() < summary.getHouseEdge());
+    assertTrue(summary.getHouseEdgeUpperBound() > summary.getHouseEdge());
+    assertTrue(summary.getHouseEdge() > -0.01 && summary.getHouseEdge() < 0.02,
+        "house edge = " + summary.getHouseEdge());
+  }
+
+  @Test
+  void blackjackPayout() {
+    BlackjackSimulation.Summary threeToTwo = new BlackjackSimulation(
+        200_000, new BlackjackRules.Builder().build(), RandomSources.simulation(5)).run();
+    BlackjackSimulation.Summary sixToFive = new BlackjackSimulation(
+        200_000, new BlackjackRules.Builder().blackjackPayout(1.2).build(),
+        RandomSources.simulation(5)).run();
+    // With the same cards dealt, only the blackjack payouts (about 4.5% of rounds) differ.
+    double difference = sixToFive.getHouseEdge() - threeToTwo.getHouseEdge();
+    assertTrue(difference > 0.01 && difference < 0.017, "difference = " + difference);
+    assertEquals(threeToTwo.getWagered(), sixToFive.getWagered());
+  }
+
+  @Test
+  void continuousShuffle() {
+    BlackjackSimulation.Summary summary = new BlackjackSimulation(
+        200_000, new BlackjackRules.Builder().continuousShuffle(true).build(),
+        RandomSources.simulation(9)).run();
+    assertEquals(200_000, summary.getRounds());
+    assertTrue(summary.getHouseEdge() > -0.01 && summary.getHouseEdge() < 0.02,
+        "house edge = " + summary.getHouseEdge());
+  }
+
+  @Test
+  void deepPenetration() {
+    // With a single deck dealt to 95% penetration, rounds regularly exhaust the shoe.
+    BlackjackSimulation.Summary summary = new BlackjackSimulation(
+        100_000, new BlackjackRules.Builder().decks(1).penetration(0.95).build(),
+        RandomSources.simulation(13)).run();
+    assertEquals(100_000, summary.getRounds());
+  }
+
+  @Test
+  void reproducible() throws Exception {
+    // The house edge must not depend on how many threads play the blocks of rounds (and thus not
+    // on the host's processor count), even in the last bit of the floating-point net result.
+    BlackjackRules rules = new BlackjackRules.Builder().blackjackPayout(1.2).build();
+    double[] edges = new double[3];
+    int[] parallelisms = {1, 3, 8};
+    for (int i = 0; i < parallelisms.length; i++) {
+      ForkJoinPool pool = new ForkJoinPool(parallelisms[i]);
+      try {
+        edges[i] = pool.submit(() ->
+            new BlackjackSimulation(105_000, rules, RandomSources.simulation(7)).run())
+            .get()
+            .getHouseEdge();
+      } finally {
+        pool.shutdown();
+      }
+    }
+    assertEquals(edges[0], edges[1]);
+    assertEquals(edges[0], edges[2]);
+  }
+
+  @Test
+  void rules() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new BlackjackRules.Builder().penetration(1));
+    assertThrows(IllegalArgumentException.class, () -> new BlackjackRules.Builder().decks(0));
+    assertEquals(78, new BlackjackRules.Builder().build().reshuffleTrigger(312));
+  }
+
+}
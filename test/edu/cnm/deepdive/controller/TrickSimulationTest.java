@@ -0,0 +1,46 @@
+package edu.cnm.deepdive.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.cnm.deepdive.model.RandomSources;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class TrickSimulationTest {
+
+  @Test
+  void run() {
+    TrickSimulation.Summary summary = new TrickSimulation(100_000).run();
+    assertEquals(100_000, summary.getIterations());
+    assertEquals(0, summary.getMismatches());
+    assertEquals(100_000, Arrays.stream(summary.getRedCounts()).sum());
+    assertArrayEquals(summary.getRedCounts(), summary.getBlackCounts());
+  }
+
+  @Test
+  void reproducible() throws Exception {
+    // The blocks of iterations are processed by as many threads as the pool running the simulation
+    // provides; the results must not depend on that number, or on the host's processor count.
+    TrickSimulation.Summary reference = runInPool(1);
+    for (int parallelism : new int[]{2, 3, 8}) {
+      TrickSimulation.Summary summary = runInPool(parallelism);
+      assertArrayEquals(reference.getRedCounts(), summary.getRedCounts());
+      assertArrayEquals(reference.getBlackCounts(), summary.getBlackCounts());
+      assertArrayEquals(reference.getSwapSizes(), summary.getSwapSizes());
+    }
+    TrickSimulation.Summary common = new TrickSimulation(50_500, RandomSources.simulation(17)).run();
+    assertArrayEquals(reference.getSwapSizes(), common.getSwapSizes());
+  }
+
+  private static TrickSimulation.Summary runInPool(int parallelism) throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      return pool.submit(() -> new TrickSimulation(50_500, RandomSources.simulation(17)).run())
+          .get();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+}
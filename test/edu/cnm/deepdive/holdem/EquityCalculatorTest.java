@@ -0,0 +1,108 @@
+package edu.cnm.deepdive.holdem;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.cnm.deepdive.model.Card;
+import edu.cnm.deepdive.model.CardSet;
+import edu.cnm.deepdive.model.RandomSources;
+import edu.cnm.deepdive.model.Rank;
+import edu.cnm.deepdive.model.Suit;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class EquityCalculatorTest {
+
+  @Test
+  void enumeratePreflop() {
+    EquityCalculator calculator = new EquityCalculator.Builder(cards("AS", "AH"))
+        .opponent(cards("KS", "KH"))
+        .build();
+    EquityCalculator.Equity equity = calculator.enumerate();
+    assertEquals(1_712_304, equity.getDeals());
+    assertEquals(0.8236, equity.getWinProbability(), 0.0005);
+    assertEquals(0.0054, equity.getTieProbability(), 0.0005);
+    assertEquals(equity.getDeals(), equity.getWins() + equity.getTies() + equity.getLosses());
+  }
+
+  @Test
+  void enumerateRandomOpponent() {
+    EquityCalculator calculator = new EquityCalculator.Builder(cards("AS", "KS"))
+        .board(cards("QS", "7S", "2D"))
+        .randomOpponents(1)
+        .build();
+    EquityCalculator.Equity exact = calculator.enumerate();
+    assertEquals(1_070_190, exact.getDeals());
+    assertEquals(calculator.getDeals(), exact.getDeals(), 0);
+    EquityCalculator.Equity sampled = calculator.sample(400_000, RandomSources.simulation(9));
+    assertEquals(400_000, sampled.getDeals());
+    assertEquals(exact.getEquity(), sampled.getEquity(), 0.005);
+  }
+
+  @Test
+  void completeBoard() {
+    EquityCalculator.Equity equity = new EquityCalculator.Builder(cards("2C", "3D"))
+        .board(cards("TS", "JS", "QS", "KS", "AS"))
+        .opponent(cards("4H", "5H"))
+        .opponent(cards("6C", "7D"))
+        .build()
+        .calculate();
+    assertEquals(1, equity.getDeals());
+    assertEquals(1, equity.getTies());
+    assertEquals(1.0 / 3, equity.getEquity(), 1e-12);
+  }
+
+  @Test
+  void calculateSamples() {
+    EquityCalculator calculator = new EquityCalculator.Builder(cards("AS", "AH"))
+        .randomOpponents(1)
+        .samples(100_000)
+        .build();
+    EquityCalculator.Equity equity = calculator.calculate();
+    assertEquals(100_000, equity.getDeals());
+    assertEquals(0.852, equity.getEquity(), 0.01);
+  }
+
+  @Test
+  void sampleReproducible() throws Exception {
+    EquityCalculator calculator = new EquityCalculator.Builder(cards("AS", "AH"))
+        .randomOpponents(2)
+        .build();
+    EquityCalculator.Equity reference = calculator.sample(45_000, RandomSources.simulation(4));
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      EquityCalculator.Equity single = pool.submit(
+          () -> calculator.sample(45_000, RandomSources.simulation(4))).get();
+      assertEquals(reference.getWins(), single.getWins());
+      assertEquals(reference.getTies(), single.getTies());
+      assertEquals(reference.getEquity(), single.getEquity());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void invalid() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new EquityCalculator.Builder(cards("AS", "AH")).build());
+    assertThrows(IllegalArgumentException.class,
+        () -> new EquityCalculator.Builder(cards("AS", "AH")).opponent(cards("AS", "KH")).build());
+    assertThrows(IllegalArgumentException.class,
+        () -> new EquityCalculator.Builder(cards("AS")));
+    assertThrows(IllegalArgumentException.class,
+        () -> new EquityCalculator.Builder(cards("AS", "AH")).randomOpponents(24).build());
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> new EquityCalculator.Builder(cards("AS", "AH")).samples(0));
+    assertEquals("Number of samples must be positive.", e.getMessage());
+  }
+
+  private static CardSet cards(String... cards) {
+    Card[] parsed = new Card[cards.length];
+    for (int i = 0; i < cards.length; i++) {
+      Rank rank = Rank.values()["A23456789TJQK".indexOf(cards[i].charAt(0))];
+      Suit suit = Suit.values()["CDHS".indexOf(cards[i].charAt(1))];
+      parsed[i] = Card.of(suit, rank);
+    }
+    return CardSet.of(parsed);
+  }
+
+}
@@ -0,0 +1,83 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.cnm.deepdive.model.Suit.Color;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CardSetTest {
+
+  @Test
+  void ofDeck() {
+    Deck d = new Deck();
+    CardSet set = CardSet.of(d);
+    assertEquals(52, set.size());
+    assertEquals(CardSet.ALL, set);
+    assertTrue(set.complement().isEmpty());
+  }
+
+  @Test
+  void withWithout() {
+    Card aceOfSpades = Card.of(Suit.SPADES, Rank.ACE);
+    CardSet set = CardSet.EMPTY.with(aceOfSpades);
+    assertTrue(set.contains(aceOfSpades));
+    assertEquals(1, set.size());
+    assertSame(set, set.with(aceOfSpades));
+    assertEquals(CardSet.EMPTY, set.without(aceOfSpades));
+  }
+
+  @Test
+  void masks() {
+    for (Suit suit : Suit.values()) {
+      CardSet set = CardSet.of(suit);
+      assertEquals(13, set.size());
+      for (Card c : set) {
+        assertEquals(suit, c.getSuit());
+      }
+    }
+    for (Rank rank : Rank.values()) {
+      assertEquals(4, CardSet.of(rank).size());
+    }
+    CardSet red = CardSet.of(Color.RED);
+    CardSet black = CardSet.of(Color.BLACK);
+    assertEquals(26, red.size());
+    assertFalse(red.intersects(black));
+    assertEquals(CardSet.ALL, red.union(black));
+    assertEquals(black, red.complement());
+    assertEquals(CardSet.of(Suit.HEARTS), red.difference(CardSet.of(Suit.DIAMONDS)));
+    assertTrue(red.containsAll(CardSet.of(Suit.HEARTS)));
+    assertEquals(13, CardSet.ALL.count(Suit.CLUBS));
+    assertEquals(26, CardSet.ALL.count(Color.BLACK));
+    assertEquals(4, CardSet.ALL.count(Rank.KING));
+  }
+
+  @Test
+  void iterator() {
+    Deck d = new Deck();
+    d.shuffle(new java.util.Random(1));
+    Set<Card> expected = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      expected.add(d.draw());
+    }
+    CardSet set = CardSet.of(expected);
+    Set<Card> actual = new HashSet<>();
+    Card prev = null;
+    for (Card c : set) {
+      if (prev != null) {
+        assertTrue(prev.compareTo(c) < 0);
+      }
+      actual.add(c);
+      prev = c;
+    }
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void ofBits() {
+    assertThrows(IllegalArgumentException.class, () -> CardSet.of(1L << Card.COUNT));
+    assertEquals(0xFL, CardSet.of(0xFL).bits());
+  }
+
+}
@@ -2,6 +2,11 @@ package edu.cnm.deepdive.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class CardTest {
@@ -15,7 +20,7 @@ class CardTest {
   @Test
   void getSuit() {
     for (Object[] testCase : cardData) {
-      Card c = new Card((Suit) testCase[0], (Rank) testCase[1]);
+      Card c = Card.of((Suit) testCase[0], (Rank) testCase[1]);
       assertEquals(testCase[0], c.getSuit());
     }
   }
@@ -23,7 +28,7 @@ class CardTest {
   @Test
   void getRank() {
     for (Object[] testCase : cardData) {
-      Card c = new Card((Suit) testCase[0], (Rank) testCase[1]);
+      Card c = Card.of((Suit) testCase[0], (Rank) testCase[1]);
       assertEquals(testCase[1], c.getRank());
     }
   }
@@ -31,8 +36,8 @@ class CardTest {
   @Test
   void testHashCode() {
     for (Object[] testCase : cardData) {
-      Card c1 = new Card((Suit) testCase[0], (Rank) testCase[1]);
-      Card c2 = new Card((Suit) testCase[0], (Rank) testCase[1]);
+      Card c1 = Card.of((Suit) testCase[0], (Rank) testCase[1]);
+      Card c2 = Card.of((Suit) testCase[0], (Rank) testCase[1]);
       assertEquals(c1.hashCode(), c2.hashCode());
     }
   }
@@ -41,12 +46,77 @@ class CardTest {
   void testEquals() {
     Card prev = null;
     for (Object[] testCase : cardData) {
-      Card c1 = new Card((Suit) testCase[0], (Rank) testCase[1]);
-      Card c2 = new Card((Suit) testCase[0], (Rank) testCase[1]);
+      Card c1 = Card.of((Suit) testCase[0], (Rank) testCase[1]);
+      Card c2 = Card.of((Suit) testCase[0], (Rank) testCase[1]);
       assertEquals(c1, c2);
       assertNotEquals(c1, prev);
       prev = c1;
     }
   }
 
-}
\ No newline at end of file
+  @Test
+  void of() {
+    for (Object[] testCase : cardData) {
+      Card c = Card.of((Suit) testCase[0], (Rank) testCase[1]);
+      assertSame(c, Card.of((Suit) testCase[0], (Rank) testCase[1]));
+      assertSame(c, Card.of(c.ordinal()));
+    }
+    assertThrows(IllegalArgumentException.class, () -> Card.of(-1));
+    assertThrows(IllegalArgumentException.class, () -> Card.of(Card.COUNT));
+  }
+
+  @Test
+  void ordinal() {
+    Card prev = null;
+    for (int i = 0; i < Card.COUNT; i++) {
+      Card c = Card.of(i);
+      assertEquals(i, c.ordinal());
+      assertEquals(i, Card.ordinal(c.getSuit(), c.getRank()));
+      if (prev != null) {
+        assertTrue(prev.compareTo(c) < 0);
+      }
+      prev = c;
+    }
+  }
+
+  @Test
+  void orders() {
+    Comparator<Card> aceHigh = Comparator.comparing(
+        (Card c) -> (c.getRank() == Rank.ACE) ? Rank.values().length : c.getRank().ordinal());
+    assertOrder(CardOrder.SUIT_RANK, Comparator.naturalOrder());
+    assertOrder(CardOrder.SUIT_RANK_ACE_HIGH,
+        Comparator.comparing(Card::getSuit).thenComparing(aceHigh));
+    assertOrder(CardOrder.RANK_SUIT,
+        Comparator.comparing(Card::getRank).thenComparing(Card::getSuit));
+    assertOrder(CardOrder.RANK_SUIT_ACE_HIGH, aceHigh.thenComparing(Card::getSuit));
+  }
+
+  private static void assertOrder(CardOrder order, Comparator<Card> expected) {
+    Deck deck = new Deck();
+    List<Card> cards = deck.stream().collect(Collectors.toList());
+    cards.sort(expected);
+    for (int key = 0; key < Card.COUNT; key++) {
+      assertSame(cards.get(key), order.card(key));
+      assertEquals(key, order.key(cards.get(key)));
+    }
+    deck.shuffle(new Random(order.ordinal()));
+    deck.draw(7);
+    deck.sort(order, true);
+    assertEquals(cards, deck.stream().collect(Collectors.toList()));
+
+    List<Card> shoe = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Deck d = new Deck();
+      d.shuffle(new Random(i));
+      shoe.addAll(d.stream().collect(Collectors.toList()));
+    }
+    Shoe sorted = new Shoe.Builder(List.of(new Deck(), new Deck(), new Deck())).build();
+    sorted.sortCards(order);
+    shoe.sort(order);
+    assertEquals(shoe, sorted.stream().collect(Collectors.toList()));
+    sorted.shuffle(new Random(3));
+    sorted.sortCards(order);
+    assertEquals(shoe, sorted.stream().collect(Collectors.toList()));
+  }
+
+}
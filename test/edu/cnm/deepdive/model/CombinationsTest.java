@@ -0,0 +1,61 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Spliterator;
+import org.junit.jupiter.api.Test;
+
+class CombinationsTest {
+
+  @Test
+  void colexOrder() {
+    CardSet set = CardSet.of(Suit.HEARTS).union(CardSet.of(Rank.ACE));
+    Combinations combinations = Combinations.of(set, 3);
+    assertEquals(560, combinations.size());
+    long[] index = {0};
+    long[] previous = {-1};
+    combinations.forEach((subset) -> {
+      assertEquals(3, Long.bitCount(subset));
+      assertEquals(subset, subset & set.bits());
+      assertTrue(Long.compareUnsigned(previous[0], subset) < 0 || previous[0] == -1);
+      assertEquals(index[0], combinations.rank(subset));
+      assertEquals(subset, combinations.unrank(index[0]));
+      previous[0] = subset;
+      index[0]++;
+    });
+    assertEquals(560, index[0]);
+  }
+
+  @Test
+  void parallelStream() {
+    Combinations combinations = Combinations.of(CardSet.ALL.difference(
+        CardSet.of(Card.of(Suit.SPADES, Rank.ACE), Card.of(Suit.HEARTS, Rank.ACE))), 5);
+    assertEquals(2_118_760, combinations.size());
+    assertEquals(2_118_760, combinations.parallelStream().distinct().count());
+    long xor = combinations.stream().reduce(0, (a, b) -> a ^ b);
+    assertEquals(xor, combinations.parallelStream().reduce(0, (a, b) -> a ^ b));
+  }
+
+  @Test
+  void split() {
+    Combinations combinations = Combinations.of(CardSet.ALL, 2);
+    Spliterator.OfLong high = combinations.spliterator();
+    Spliterator.OfLong low = high.trySplit();
+    assertEquals(663, low.estimateSize());
+    assertEquals(663, high.estimateSize());
+    long[] first = new long[1];
+    high.tryAdvance((long subset) -> first[0] = subset);
+    assertEquals(combinations.unrank(663), first[0]);
+  }
+
+  @Test
+  void edgeCases() {
+    assertEquals(1, Combinations.of(CardSet.ALL, 0).stream().count());
+    assertEquals(0, Combinations.of(CardSet.ALL, 0).unrank(0));
+    assertEquals(CardSet.ALL.bits(), Combinations.of(CardSet.ALL, Card.COUNT).unrank(0));
+    assertThrows(IllegalArgumentException.class, () -> Combinations.of(CardSet.EMPTY, 1));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> Combinations.of(CardSet.ALL, 5).unrank(2_598_960));
+  }
+
+}
@@ -0,0 +1,132 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentShoeTest {
+
+  private static final int DECKS = 8;
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 200;
+
+  @Test
+  void drainUnderContention() throws Exception {
+    ConcurrentShoe shoe = newShoe(0);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      for (int round = 0; round < ROUNDS; round++) {
+        AtomicLongArray counts = new AtomicLongArray(Card.COUNT);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+          boolean bulk = (t % 2 == 0);
+          futures.add(executor.submit(() -> {
+            startSignal.await();
+            Card[] buffer = new Card[3];
+            while (true) {
+              if (bulk) {
+                int count = shoe.drawInto(buffer, 0, buffer.length);
+                for (int i = 0; i < count; i++) {
+                  counts.incrementAndGet(buffer[i].ordinal());
+                }
+                if (count < buffer.length) {
+                  break;
+                }
+              } else {
+                Card card = shoe.draw();
+                if (card == null) {
+                  break;
+                }
+                counts.incrementAndGet(card.ordinal());
+              }
+            }
+            return null;
+          }));
+        }
+        startSignal.countDown();
+        for (Future<?> future : futures) {
+          future.get(30, TimeUnit.SECONDS);
+        }
+        for (int i = 0; i < Card.COUNT; i++) {
+          assertEquals(DECKS, counts.get(i), "Card " + Card.of(i) + " in round " + round);
+        }
+        assertEquals(0, shoe.size());
+        assertNull(shoe.draw());
+        int epoch = shoe.getEpoch();
+        shoe.start();
+        assertEquals(epoch + 1, shoe.getEpoch());
+        assertEquals(DECKS * Card.COUNT, shoe.size());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void reshuffleUnderContention() throws Exception {
+    int trigger = 100;
+    ConcurrentShoe shoe = newShoe(trigger);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<Long>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(executor.submit(() -> {
+          long drawn = 0;
+          for (int i = 0; i < 100_000; i++) {
+            shoe.start();
+            if (shoe.draw() != null) {
+              drawn++;
+            }
+          }
+          return drawn;
+        }));
+      }
+      long total = 0;
+      for (Future<Long> future : futures) {
+        total += future.get(60, TimeUnit.SECONDS);
+      }
+      assertEquals((long) THREADS * 100_000, total);
+      assertTrue(shoe.getEpoch() > 1);
+      assertTrue(shoe.size() >= 0 && shoe.size() <= shoe.capacity());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void reshuffleTriggerBounds() {
+    int capacity = DECKS * Card.COUNT;
+    assertThrows(IllegalArgumentException.class, () -> newShoe(capacity));
+    assertThrows(IllegalArgumentException.class, () -> newShoe(capacity + 1));
+    ConcurrentShoe shoe = newShoe(capacity - 1);
+    assertEquals(1, shoe.getEpoch());
+    assertEquals(0, new ConcurrentShoe.Builder(List.of(new Deck())).build().getEpoch());
+    int epoch = shoe.getEpoch();
+    assertNotNull(shoe.draw());
+    shoe.start();
+    assertEquals(epoch + 1, shoe.getEpoch());
+    assertEquals(capacity, shoe.size());
+  }
+
+  private static ConcurrentShoe newShoe(int trigger) {
+    List<Deck> decks = new ArrayList<>();
+    for (int i = 0; i < DECKS; i++) {
+      decks.add(new Deck());
+    }
+    return new ConcurrentShoe.Builder(decks)
+        .randomSource(RandomSources.simulation())
+        .reshuffleTrigger(trigger)
+        .shuffleOnCreate()
+        .build();
+  }
+
+}
@@ -0,0 +1,63 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.cnm.deepdive.model.Suit.Color;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DealBatchTest {
+
+  @Test
+  void count() {
+    DealBatch batch = new DealBatch(1_003);
+    batch.deal(RandomSources.simulation(12));
+    Random rng = new Random(13);
+    CardSet[] sets = {
+        CardSet.of(Color.RED), CardSet.of(Suit.SPADES), CardSet.of(Rank.ACE), CardSet.of(Rank.KING),
+        CardSet.EMPTY, CardSet.ALL, CardSet.of(rng.nextLong() & CardSet.ALL.bits()),
+        CardSet.of(rng.nextLong() & CardSet.ALL.bits())
+    };
+    byte[] counts = new byte[batch.decks() + 1];
+    for (CardSet set : sets) {
+      counts[batch.decks()] = -1;
+      batch.count(set, 1, Card.COUNT, 2, counts);
+      for (int d = 0; d < batch.decks(); d++) {
+        int expected = 0;
+        for (int position = 1; position < Card.COUNT; position += 2) {
+          if (set.contains(batch.get(d, position))) {
+            expected++;
+          }
+        }
+        assertEquals(expected, counts[d]);
+      }
+      assertEquals(-1, counts[batch.decks()]);
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> batch.count(CardSet.ALL, 0, Card.COUNT, 1, new byte[10]));
+  }
+
+  @Test
+  void countPairs() {
+    DealBatch batch = new DealBatch(5_000);
+    batch.deal(RandomSources.simulation(14));
+    CardSet red = CardSet.of(Color.RED);
+    CardSet black = CardSet.of(Color.BLACK);
+    byte[] redInRed = new byte[batch.decks()];
+    byte[] blackInBlack = new byte[batch.decks()];
+    batch.countPairs(red, red, redInRed);
+    batch.countPairs(black, black, blackInBlack);
+    for (int d = 0; d < batch.decks(); d++) {
+      int expected = 0;
+      for (int position = 0; position < Card.COUNT; position += 2) {
+        if (batch.get(d, position).getSuit().color() == Color.RED
+            && batch.get(d, position + 1).getSuit().color() == Color.RED) {
+          expected++;
+        }
+      }
+      assertEquals(expected, redInRed[d]);
+      assertEquals(redInRed[d], blackInBlack[d]);
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class DealEventsTest {
+
+  @Test
+  void disabled() {
+    assertNull(DealEvents.beginShuffle());
+    assertNull(DealEvents.beginReshuffle());
+    assertNull(DealEvents.beginGather());
+    assertNull(DealEvents.beginDeal());
+    try (Recording recording = new Recording()) {
+      recording.enable("edu.cnm.deepdive.Deal");
+      recording.start();
+      assertNotNull(DealEvents.beginDeal());
+    }
+    assertNull(DealEvents.beginDeal());
+  }
+
+  @Test
+  void recorded() throws IOException {
+    Path path = Files.createTempFile("deal", ".jfr");
+    try {
+      try (Recording recording = new Recording()) {
+        recording.enable("edu.cnm.deepdive.Shuffle");
+        recording.enable("edu.cnm.deepdive.Reshuffle");
+        recording.enable("edu.cnm.deepdive.Gather");
+        recording.enable("edu.cnm.deepdive.Deal");
+        recording.start();
+        Shoe shoe = new Shoe.Builder(List.of(new Deck(), new Deck(), new Deck()))
+            .randomSource(new Random(9))
+            .reshuffleTrigger(100)
+            .build();
+        shoe.draw(60);
+        shoe.start();
+        recording.stop();
+        recording.dump(path);
+      }
+      List<RecordedEvent> events = RecordingFile.readAllEvents(path).stream()
+          .filter((e) -> e.getEventType().getName().startsWith("edu.cnm.deepdive."))
+          .collect(Collectors.toList());
+      assertEquals(
+          List.of("edu.cnm.deepdive.Deal", "edu.cnm.deepdive.Gather", "edu.cnm.deepdive.Shuffle",
+              "edu.cnm.deepdive.Reshuffle"),
+          events.stream().map((e) -> e.getEventType().getName()).collect(Collectors.toList()));
+      assertEquals(60, events.get(0).getInt("cards"));
+      assertEquals(Shoe.class.getName(), events.get(1).getString("stock"));
+      assertEquals(60, events.get(1).getInt("cards"));
+      assertEquals(156, events.get(2).getInt("cards"));
+      assertEquals(3, events.get(2).getInt("decks"));
+      assertEquals(Random.class.getName(), events.get(2).getString("rng"));
+      assertFalse(events.get(2).getBoolean("lazy"));
+      assertEquals(96, events.get(3).getInt("remaining"));
+      assertEquals(100, events.get(3).getInt("trigger"));
+      assertEquals(3, events.get(3).getInt("decks"));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+}
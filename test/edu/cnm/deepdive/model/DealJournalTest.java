@@ -0,0 +1,167 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DealJournalTest {
+
+  @Test
+  void replay() throws IOException {
+    Path path = Files.createTempFile("journal", ".bin");
+    try {
+      List<Card> expected = new ArrayList<>();
+      try (DealJournal journal = DealJournal.open(path, 1_000)) {
+        Deck deck = new Deck();
+        deck.setJournal(journal, 7);
+        deck.shuffle(new Random(1));
+        expected.add(deck.draw());
+        expected.addAll(List.of(deck.draw(5)));
+        deck.shuffle(new Random(2));
+        int[] ordinals = new int[3];
+        deck.drawOrdinals(ordinals, 0, ordinals.length);
+        for (int ordinal : ordinals) {
+          expected.add(Card.of(ordinal));
+        }
+        assertEquals(12, journal.size());
+      }
+      Recorder recorder = new Recorder();
+      DealJournal.replay(path, 7, recorder);
+      assertEquals(expected, recorder.cards);
+      assertEquals(List.of("shuffle 1", "gather 1 6", "shuffle 2"), recorder.events);
+      assertEquals(List.of(0, 1, 2, 3, 4, 5, 0, 1, 2), recorder.sequences);
+      Recorder other = new Recorder();
+      DealJournal.replay(path, 8, other);
+      assertTrue(other.cards.isEmpty());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void concurrentAppendAndReopen() throws Exception {
+    Path path = Files.createTempFile("journal", ".bin");
+    try {
+      int threads = 8;
+      List<List<Card>> drawn = new ArrayList<>();
+      try (DealJournal journal = DealJournal.open(path, 100_000)) {
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+          List<Card> cards = new ArrayList<>();
+          drawn.add(cards);
+          int id = t;
+          workers.add(new Thread(() -> {
+            Deck deck = new Deck();
+            deck.setJournal(journal, id);
+            Random rng = new Random(id);
+            for (int round = 0; round < 100; round++) {
+              deck.shuffle(rng);
+              for (Card card = deck.draw(); card != null; card = deck.draw()) {
+                cards.add(card);
+              }
+            }
+          }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+          worker.join();
+        }
+      }
+      for (int t = 0; t < threads; t++) {
+        Recorder recorder = new Recorder();
+        DealJournal.replay(path, t, recorder);
+        assertEquals(drawn.get(t), recorder.cards);
+      }
+      try (DealJournal journal = DealJournal.open(path, 100_000)) {
+        assertEquals(threads * 100 * (Card.COUNT + 2) - threads, journal.size());
+        Deck deck = new Deck();
+        deck.setJournal(journal, threads);
+        Card card = deck.draw();
+        Recorder recorder = new Recorder();
+        DealJournal.replay(path, threads, recorder);
+        assertEquals(List.of(card), recorder.cards);
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void holes() throws IOException {
+    Path path = Files.createTempFile("journal", ".bin");
+    try {
+      List<Card> expected = new ArrayList<>();
+      try (DealJournal journal = DealJournal.open(path, 100)) {
+        Deck deck = new Deck();
+        deck.setJournal(journal, 1);
+        expected.addAll(List.of(deck.draw(3)));
+        // Simulate a crash while an append was in progress: a slot reserved but never written.
+        journal.reserve(1);
+        expected.addAll(List.of(deck.draw(2)));
+      }
+      try (DealJournal journal = DealJournal.open(path, 100)) {
+        assertEquals(6, journal.size());
+        Deck deck = new Deck();
+        deck.setJournal(journal, 2);
+        Card card = deck.draw();
+        Recorder recorder = new Recorder();
+        DealJournal.replay(path, 2, recorder);
+        assertEquals(List.of(card), recorder.cards);
+      }
+      Recorder recorder = new Recorder();
+      DealJournal.replay(path, 1, recorder);
+      assertEquals(expected, recorder.cards);
+      assertEquals(List.of(0, 1, 2, 3, 4), recorder.sequences);
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void full() throws IOException {
+    Path path = Files.createTempFile("journal", ".bin");
+    try (DealJournal journal = DealJournal.open(path, 10)) {
+      Deck deck = new Deck();
+      deck.setJournal(journal, 1);
+      deck.draw(10);
+      assertThrows(IllegalStateException.class, deck::draw);
+      assertThrows(IllegalStateException.class, () -> deck.drawInto(new Card[5], 0, 5));
+      assertThrows(IllegalStateException.class, () -> deck.shuffle(new Random(1)));
+      assertEquals(42, deck.size());
+      assertEquals(10, deck.getDrawn().size());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  private static class Recorder implements DealJournal.Listener {
+
+    private final List<Card> cards = new ArrayList<>();
+    private final List<Integer> sequences = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+
+    @Override
+    public void onDraw(int epoch, int sequence, Card card) {
+      cards.add(card);
+      sequences.add(sequence);
+    }
+
+    @Override
+    public void onGather(int epoch, int count) {
+      events.add("gather " + epoch + " " + count);
+    }
+
+    @Override
+    public void onShuffle(int epoch) {
+      events.add("shuffle " + epoch);
+    }
+
+  }
+
+}
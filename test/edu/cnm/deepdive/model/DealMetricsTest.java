@@ -0,0 +1,62 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class DealMetricsTest {
+
+  @Test
+  void counts() {
+    DealMetrics metrics = new DealMetrics();
+    Shoe shoe = new Shoe.Builder(List.of(new Deck(), new Deck()))
+        .randomSource(new Random(7))
+        .reshuffleTrigger(20)
+        .build();
+    shoe.setMetrics(metrics);
+    Deck deck = new Deck();
+    deck.setMetrics(metrics);
+    int draws = 0;
+    for (int round = 0; round < 100; round++) {
+      shoe.start();
+      shoe.draw();
+      draws += 1 + shoe.draw(5).length;
+    }
+    deck.shuffle(new Random(8));
+    draws += deck.drawOrdinals(new int[60], 0, 60);
+    DealMetrics.Snapshot snapshot = metrics.snapshot();
+    int reshuffles = (100 * 6) / (104 - 20);
+    assertEquals(draws, snapshot.getDraws());
+    assertEquals(reshuffles + 1, snapshot.getShuffles());
+    assertEquals(reshuffles + 1, snapshot.getGathers());
+    assertEquals(reshuffles, snapshot.getReshuffles());
+    assertEquals(reshuffles + 1, snapshot.getShuffleLatency().getCount());
+    assertEquals(101, snapshot.getDealLatency().getCount());
+    shoe.setMetrics(null);
+    shoe.draw();
+    assertEquals(draws, metrics.snapshot().getDraws());
+  }
+
+  @Test
+  void histogram() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.snapshot().getQuantile(0.5));
+    IntStream.rangeClosed(1, 1000).parallel().forEach(histogram::record);
+    histogram.record(-5);
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1001, snapshot.getCount());
+    assertEquals(500_500, snapshot.getTotal());
+    assertEquals(1000, snapshot.getMax());
+    assertEquals(1, snapshot.getBucketCount(0));
+    assertEquals(1, snapshot.getBucketCount(1));
+    assertEquals(512 - 256, snapshot.getBucketCount(9));
+    assertEquals(0, snapshot.getQuantile(0));
+    assertEquals(511, snapshot.getQuantile(0.5));
+    assertEquals(1000, snapshot.getQuantile(0.99));
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getQuantile(1.5));
+  }
+
+}
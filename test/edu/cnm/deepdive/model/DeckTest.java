@@ -2,11 +2,16 @@ package edu.cnm.deepdive.model;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import edu.cnm.deepdive.model.Suit.Color;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class DeckTest {
@@ -74,4 +79,249 @@ class DeckTest {
     } while (count <= 52);
   }
 
-}
\ No newline at end of file
+  @Test
+  void gather() {
+    Deck d = new Deck();
+    d.shuffle(new SecureRandom());
+    List<Card> shuffledList = new LinkedList<>();
+    d.forEach(shuffledList::add);
+    for (int i = 0; i < 20; i++) {
+      d.draw();
+    }
+    assertEquals(32, d.size());
+    d.gather();
+    assertEquals(52, d.size());
+    assertEquals(0, d.getDrawn().size());
+    List<Card> gatheredList = new LinkedList<>();
+    d.forEach(gatheredList::add);
+    assertEquals(shuffledList, gatheredList);
+  }
+
+  @Test
+  void drawBulk() {
+    Deck expected = new Deck();
+    Deck d = new Deck();
+    Card[] hand = d.draw(5);
+    assertEquals(5, hand.length);
+    for (Card c : hand) {
+      assertEquals(expected.draw(), c);
+    }
+    Card[] dst = new Card[10];
+    assertEquals(4, d.drawInto(dst, 2, 4));
+    assertNull(dst[0]);
+    for (int i = 2; i < 6; i++) {
+      assertEquals(expected.draw(), dst[i]);
+    }
+    int[] ordinals = new int[52];
+    assertEquals(43, d.drawOrdinals(ordinals, 0, ordinals.length));
+    assertEquals(expected.draw().ordinal(), ordinals[0]);
+    assertEquals(52, d.getDrawn().size());
+    assertEquals(0, d.draw(3).length);
+    assertThrows(IllegalArgumentException.class, () -> d.draw(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> d.drawInto(dst, 8, 4));
+  }
+
+  @Test
+  void lazyShuffle() {
+    Deck d = new Deck();
+    d.setLazyShuffle(true);
+    d.shuffle(new SecureRandom());
+    List<Card> drawn = new LinkedList<>();
+    for (int i = 0; i < 10; i++) {
+      drawn.add(d.draw());
+    }
+    Set<Card> check = new HashSet<>(drawn);
+    d.forEach(check::add);
+    assertEquals(52, check.size());
+    d.gather();
+    List<Card> gathered = new LinkedList<>();
+    for (Card c = d.draw(); c != null; c = d.draw()) {
+      gathered.add(c);
+    }
+    assertEquals(drawn, gathered.subList(0, 10));
+    assertEquals(check, new HashSet<>(gathered));
+  }
+
+  @Test
+  void lazyShuffleDistribution() {
+    int trials = 52_000;
+    int[] topCounts = new int[52];
+    Random rng = new Random(1);
+    Deck d = new Deck();
+    d.setLazyShuffle(true);
+    for (int i = 0; i < trials; i++) {
+      d.shuffle(rng);
+      topCounts[d.draw().ordinal()]++;
+    }
+    for (int count : topCounts) {
+      assertTrue(Math.abs(count - trials / 52) < 200);
+    }
+  }
+
+  @Test
+  void streams() {
+    List<Deck> decks = new LinkedList<>();
+    for (int i = 0; i < 8; i++) {
+      decks.add(new Deck());
+    }
+    Shoe shoe = new Shoe.Builder(decks).randomSource(new Random(13)).shuffleOnCreate().build();
+    List<Card> cards = new LinkedList<>();
+    shoe.forEach(cards::add);
+    assertEquals(416, shoe.spliterator().getExactSizeIfKnown());
+    assertEquals(cards, shoe.stream().collect(Collectors.toList()));
+    assertEquals(cards, shoe.parallelStream().collect(Collectors.toList()));
+    assertEquals(8, shoe.parallelStream().filter(Card.of(Suit.SPADES, Rank.ACE)::equals).count());
+    Card[] drawn = shoe.draw(100);
+    assertEquals(316, shoe.stream().count());
+    assertEquals(List.of(drawn), shoe.parallelDrawnStream().collect(Collectors.toList()));
+    assertEquals(100, shoe.drawnStream().count());
+  }
+
+  @Test
+  void reset() {
+    Deck d = new Deck();
+    List<Card> original = d.stream().collect(Collectors.toList());
+    d.setLazyShuffle(true);
+    d.shuffle(new Random(3));
+    d.draw(10);
+    d.reset();
+    assertEquals(52, d.size());
+    assertTrue(d.drawnStream().findAny().isEmpty());
+    assertEquals(original, d.stream().collect(Collectors.toList()));
+    assertEquals(new Deck(), d);
+    assertTrue(d.isLazyShuffle());
+  }
+
+  @Test
+  void pool() {
+    StockPool<Deck> decks = StockPool.ofDecks(1);
+    Deck d = decks.acquire();
+    d.shuffle(new Random(4));
+    d.draw(5);
+    decks.release(d);
+    decks.release(new Deck());
+    assertEquals(1, decks.idleCount());
+    assertSame(d, decks.acquire());
+    assertEquals(new Deck(), d);
+    assertNotSame(d, decks.acquire());
+
+    Shoe.Builder builder = new Shoe.Builder(List.of(new Deck(), new Deck()))
+        .randomSource(new Random(5))
+        .shuffleOnCreate();
+    StockPool<Shoe> shoes = StockPool.ofShoes(builder, 2);
+    Shoe shoe = shoes.acquire();
+    List<Card> composition = shoe.stream().sorted().collect(Collectors.toList());
+    shoe.draw(60);
+    shoes.release(shoe);
+    assertSame(shoe, shoes.acquire());
+    assertEquals(104, shoe.size());
+    assertEquals(composition, shoe.stream().sorted().collect(Collectors.toList()));
+  }
+
+  @Test
+  void composition() {
+    Random rng = new Random(6);
+    Deck d = new Deck();
+    Shoe shoe = new Shoe.Builder(List.of(new Deck(), new Deck())).randomSource(rng).lazyShuffle()
+        .build();
+    for (int step = 0; step < 500; step++) {
+      switch (rng.nextInt(6)) {
+        case 0 -> d.draw();
+        case 1 -> d.draw(rng.nextInt(10));
+        case 2 -> d.shuffle(rng, rng.nextBoolean());
+        case 3 -> Collections.shuffle(d.getCards(), rng);
+        case 4 -> d.reset();
+        default -> d.drawOrdinals(new byte[5], 0, 5);
+      }
+      assertComposition(d);
+      switch (rng.nextInt(3)) {
+        case 0 -> shoe.start();
+        case 1 -> shoe.draw();
+        default -> shoe.draw(rng.nextInt(20));
+      }
+      assertComposition(shoe);
+      int running = 0;
+      for (Card c : shoe.getDrawn()) {
+        int rank = c.getRank().ordinal();
+        running += (rank == 0 || rank >= 9) ? -1 : (rank <= 5) ? 1 : 0;
+      }
+      assertEquals(running, shoe.getRunningCount());
+      if (shoe.size() > 0) {
+        assertEquals((double) running * 52 / shoe.size(), shoe.getTrueCount(), 1e-9);
+      }
+    }
+  }
+
+  @Test
+  void continuousShuffle() {
+    Random rng = new Random(11);
+    Shoe shoe = new Shoe.Builder(List.of(new Deck(), new Deck())).randomSource(rng)
+        .reshuffleTrigger(52).continuousShuffle().build();
+    assertTrue(shoe.isContinuousShuffle());
+    int[] firstCounts = new int[Card.COUNT];
+    int rounds = 52_000;
+    for (int round = 0; round < rounds; round++) {
+      shoe.start();
+      assertEquals(104, shoe.size());
+      assertEquals(0, shoe.getRunningCount());
+      firstCounts[shoe.draw().ordinal()]++;
+      shoe.draw(rng.nextInt(60));
+      if (round % 1000 == 0) {
+        assertComposition(shoe);
+      }
+    }
+    for (int count : firstCounts) {
+      assertEquals(rounds / Card.COUNT, count, 150);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(SnapshotCodec.encodedSize(shoe));
+    SnapshotCodec.encode(shoe, buffer);
+    buffer.flip();
+    Shoe restored = SnapshotCodec.decodeShoe(buffer, new Random(12));
+    assertTrue(restored.isContinuousShuffle());
+    restored.start();
+    assertEquals(104, restored.size());
+  }
+
+  @Test
+  void reshuffleDiscards() {
+    Shoe shoe = new Shoe.Builder(List.of(new Deck())).randomSource(new Random(21))
+        .shuffleOnCreate().build();
+    shoe.draw(48);
+    Card[] inPlay = shoe.draw(3);
+    assertThrows(IllegalArgumentException.class, () -> shoe.reshuffleDiscards(52));
+    shoe.reshuffleDiscards(inPlay.length);
+    assertEquals(List.of(inPlay), shoe.getDrawn());
+    assertEquals(49, shoe.size());
+    Set<Card> cards = shoe.stream().collect(Collectors.toSet());
+    assertEquals(49, cards.size());
+    for (Card card : inPlay) {
+      assertFalse(cards.contains(card));
+    }
+    assertComposition(shoe);
+    shoe.draw(49);
+    assertNull(shoe.draw());
+    shoe.reshuffleDiscards(0);
+    assertEquals(52, shoe.size());
+    assertComposition(shoe);
+  }
+
+  private static void assertComposition(Stock stock) {
+    for (Suit suit : Suit.values()) {
+      assertEquals(stock.stream().filter((c) -> c.getSuit() == suit).count(), stock.count(suit));
+      assertEquals(stock.drawnStream().filter((c) -> c.getSuit() == suit).count(),
+          stock.drawnCount(suit));
+    }
+    for (Rank rank : Rank.values()) {
+      assertEquals(stock.stream().filter((c) -> c.getRank() == rank).count(), stock.count(rank));
+      assertEquals(stock.drawnStream().filter((c) -> c.getRank() == rank).count(),
+          stock.drawnCount(rank));
+    }
+    for (Color color : Color.values()) {
+      assertEquals(stock.stream().filter((c) -> c.getSuit().color() == color).count(),
+          stock.count(color));
+      assertEquals(stock.drawnStream().filter((c) -> c.getSuit().color() == color).count(),
+          stock.drawnCount(color));
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.cnm.deepdive.model.PokerHand.Category;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PokerEvaluatorTest {
+
+  @Test
+  void allFiveCardHands() {
+    long[] counts = new long[Category.values().length];
+    Set<Integer> strengths = new HashSet<>();
+    for (int a = 0; a < Card.COUNT; a++) {
+      for (int b = a + 1; b < Card.COUNT; b++) {
+        for (int c = b + 1; c < Card.COUNT; c++) {
+          for (int d = c + 1; d < Card.COUNT; d++) {
+            long partial = 1L << a | 1L << b | 1L << c | 1L << d;
+            for (int e = d + 1; e < Card.COUNT; e++) {
+              int strength = PokerEvaluator.evaluate(partial | 1L << e);
+              counts[Category.of(strength).ordinal()]++;
+              strengths.add(strength);
+            }
+          }
+        }
+      }
+    }
+    assertArrayEquals(
+        new long[]{1_302_540, 1_098_240, 123_552, 54_912, 10_200, 5_108, 3_744, 624, 40}, counts);
+    assertEquals(7_462, strengths.size());
+  }
+
+  @Test
+  void sevenCardHandsMatchBestFive() {
+    Random rng = new Random(11);
+    for (int trial = 0; trial < 20_000; trial++) {
+      long hand = 0;
+      while (Long.bitCount(hand) < PokerEvaluator.MAX_CARDS) {
+        hand |= 1L << rng.nextInt(Card.COUNT);
+      }
+      assertEquals(bestOfFive(hand), PokerEvaluator.evaluate(hand));
+      long six = hand & ~Long.lowestOneBit(hand);
+      assertEquals(bestOfFive(six), PokerEvaluator.evaluate(six));
+    }
+  }
+
+  @Test
+  void ordering() {
+    int wheel = evaluate("AC", "2D", "3H", "4S", "5C");
+    int sixHigh = evaluate("2D", "3H", "4S", "5C", "6C");
+    int aceHigh = evaluate("AC", "KD", "QH", "JS", "9C");
+    assertEquals(Category.STRAIGHT, Category.of(wheel));
+    assertTrue(wheel < sixHigh);
+    assertEquals(Category.HIGH_CARD, Category.of(aceHigh));
+    assertEquals(evaluate("AH", "KS", "QC", "JD", "9H"), aceHigh);
+    assertEquals(Category.STRAIGHT_FLUSH, Category.of(evaluate("TH", "JH", "QH", "KH", "AH")));
+    assertTrue(evaluate("KC", "KD", "7H", "7S", "AC") > evaluate("KH", "KS", "7C", "7D", "QC"));
+    assertThrows(IllegalArgumentException.class,
+        () -> PokerEvaluator.evaluate(CardSet.of(Suit.CLUBS).bits()));
+  }
+
+  @Test
+  void pokerHand() {
+    PokerHand flush = hand("2H", "5H", "9H", "JH", "KH", "KC", "KD");
+    PokerHand fullHouse = hand("2H", "2S", "9H", "JH", "KH", "KC", "KD");
+    assertEquals(Category.FLUSH, flush.getCategory());
+    assertEquals(Category.FULL_HOUSE, fullHouse.getCategory());
+    assertTrue(flush.compareTo(fullHouse) < 0);
+    assertThrows(IllegalArgumentException.class, () -> flush.add(Card.of(Suit.HEARTS, Rank.TWO)));
+    assertThrows(IllegalStateException.class, () -> flush.add(Card.of(Suit.SPADES, Rank.TWO)));
+    assertThrows(IllegalStateException.class, () -> new PokerHand().getStrength());
+  }
+
+  private static int bestOfFive(long hand) {
+    int best = -1;
+    long[] cards = new long[Long.bitCount(hand)];
+    for (int i = 0; hand != 0; hand &= hand - 1) {
+      cards[i++] = Long.lowestOneBit(hand);
+    }
+    for (int skip1 = 0; skip1 < cards.length; skip1++) {
+      for (int skip2 = skip1; skip2 < cards.length; skip2++) {
+        long five = 0;
+        for (int i = 0; i < cards.length; i++) {
+          if (i != skip1 && i != skip2) {
+            five |= cards[i];
+          }
+        }
+        if (Long.bitCount(five) == 5) {
+          best = Math.max(best, PokerEvaluator.evaluate(five));
+        }
+      }
+    }
+    return best;
+  }
+
+  private static int evaluate(String... cards) {
+    return hand(cards).getStrength();
+  }
+
+  private static PokerHand hand(String... cards) {
+    PokerHand hand = new PokerHand();
+    for (String card : cards) {
+      hand.add(parse(card));
+    }
+    return hand;
+  }
+
+  private static Card parse(String card) {
+    Rank rank = Rank.values()["A23456789TJQK".indexOf(card.charAt(0))];
+    Suit suit = Suit.values()["CDHS".indexOf(card.charAt(1))];
+    return Card.of(suit, rank);
+  }
+
+}
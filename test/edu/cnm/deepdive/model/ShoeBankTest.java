@@ -0,0 +1,68 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+
+class ShoeBankTest {
+
+  @Test
+  void shuffleAndDraw() {
+    try (ShoeBank bank = ShoeBank.allocate(10_000, 6)) {
+      assertEquals(312, bank.rowSize());
+      bank.shuffleAll(RandomSources.simulation(10));
+      byte[] first = new byte[bank.rowSize()];
+      byte[] second = new byte[bank.rowSize()];
+      assertEquals(312, bank.drawOrdinals(0, first, 0, first.length));
+      assertEquals(312, bank.drawOrdinals(1, second, 0, second.length));
+      assertNull(bank.draw(0));
+      assertFalse(Arrays.equals(first, second));
+      Arrays.sort(first);
+      for (int i = 0; i < first.length; i++) {
+        assertEquals(i / 6, first[i]);
+      }
+
+      LongAdder drawn = new LongAdder();
+      LongAdder aces = new LongAdder();
+      bank.drawAll(100, (row, ordinals, count) -> {
+        drawn.add(count);
+        for (int i = 0; i < count; i++) {
+          if (ordinals[i] % 13 == 0) {
+            aces.increment();
+          }
+        }
+      });
+      assertEquals(100L * (bank.rows() - 2), drawn.sum());
+      assertEquals(24L * (bank.rows() - 2) - aces.sum(), bank.remainingCount(Rank.ACE));
+      IntSummaryStatistics stats = bank.remainingStatistics();
+      assertEquals(0, stats.getMin());
+      assertEquals(212, stats.getMax());
+
+      ShoeBank repeat = ShoeBank.allocate(10_000, 6);
+      repeat.shuffleAll(RandomSources.simulation(10));
+      byte[] check = new byte[second.length];
+      repeat.drawOrdinals(1, check, 0, check.length);
+      assertArrayEquals(second, check);
+      repeat.close();
+      assertThrows(IllegalStateException.class, () -> repeat.draw(0));
+    }
+  }
+
+  @Test
+  void composition() {
+    Deck partial = new Deck();
+    partial.draw(50);
+    try (ShoeBank bank = ShoeBank.allocate(3, List.of(new Deck(), partial))) {
+      assertEquals(54, bank.rowSize());
+      bank.shuffle(2, RandomSources.simulation(11));
+      assertEquals(54, bank.remaining(2));
+      assertThrows(IndexOutOfBoundsException.class, () -> bank.draw(3));
+    }
+    assertThrows(IllegalArgumentException.class, () -> ShoeBank.allocate(0, 1));
+  }
+
+}
@@ -0,0 +1,98 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+
+class ShufflerTest {
+
+  @Test
+  void permutationsUniform() {
+    int trials = 240_000;
+    int[] counts = new int[256];
+    RandomGenerator rng = new Random(3);
+    for (int t = 0; t < trials; t++) {
+      byte[] values = {0, 1, 2, 3};
+      Shuffler.shuffle(values, 0, values.length, rng);
+      counts[values[0] << 6 | values[1] << 4 | values[2] << 2 | values[3]]++;
+    }
+    int permutations = 0;
+    double chiSquare = 0;
+    for (int count : counts) {
+      if (count > 0) {
+        permutations++;
+        double deviation = count - trials / 24.0;
+        chiSquare += deviation * deviation / (trials / 24.0);
+      }
+    }
+    assertEquals(24, permutations);
+    assertTrue(chiSquare < 60, "chi-square = " + chiSquare); // 23 degrees of freedom.
+  }
+
+  @Test
+  void wordsConsumed() {
+    CountingGenerator rng = new CountingGenerator(new Random(5));
+    byte[] values = new byte[Card.COUNT];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (byte) i;
+    }
+    Shuffler.shuffle(values, 0, values.length, rng);
+    assertTrue(rng.count <= 8, "words consumed = " + rng.count);
+    assertEquals(CardSet.ALL, cardsOf(values));
+  }
+
+  @Test
+  void partial() {
+    byte[] values = new byte[Card.COUNT];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (byte) i;
+    }
+    RandomGenerator rng = new Random(7);
+    Shuffler.shuffle(values, 0, values.length, 10, rng);
+    Shuffler.shuffle(values, 10, values.length, rng);
+    assertEquals(CardSet.ALL, cardsOf(values));
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> Shuffler.shuffle(values, 0, values.length, values.length + 1, rng));
+  }
+
+  @Test
+  void nextInt() {
+    RandomGenerator rng = new Random(11);
+    int[] counts = new int[7];
+    for (int i = 0; i < 70_000; i++) {
+      counts[Shuffler.nextInt(rng, 7)]++;
+    }
+    for (int count : counts) {
+      assertTrue(Math.abs(count - 10_000) < 500);
+    }
+    assertThrows(IllegalArgumentException.class, () -> Shuffler.nextInt(rng, 0));
+  }
+
+  private static CardSet cardsOf(byte[] values) {
+    long bits = 0;
+    for (byte value : values) {
+      bits |= 1L << value;
+    }
+    return CardSet.of(bits);
+  }
+
+  private static class CountingGenerator implements RandomGenerator {
+
+    private final RandomGenerator source;
+    private int count;
+
+    CountingGenerator(RandomGenerator source) {
+      this.source = source;
+    }
+
+    @Override
+    public long nextLong() {
+      count++;
+      return source.nextLong();
+    }
+
+  }
+
+}
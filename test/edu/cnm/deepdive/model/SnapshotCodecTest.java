@@ -0,0 +1,121 @@
+package edu.cnm.deepdive.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SnapshotCodecTest {
+
+  @Test
+  void deck() {
+    Deck deck = new Deck();
+    deck.shuffle(new Random(1));
+    deck.draw(10);
+    ByteBuffer buffer = ByteBuffer.allocate(SnapshotCodec.encodedSize(deck));
+    SnapshotCodec.encode(deck, buffer);
+    assertFalse(buffer.hasRemaining());
+    buffer.flip();
+    Deck restored = SnapshotCodec.decodeDeck(buffer);
+    assertEquals(deck, restored);
+    assertEquals(deck.getDrawn(), restored.getDrawn());
+    restored.gather();
+    deck.gather();
+    assertEquals(deck, restored);
+  }
+
+  @Test
+  void shoe() {
+    Shoe shoe = shoe(new Random(3), true);
+    shoe.draw(100);
+    ByteBuffer buffer = ByteBuffer.allocate(SnapshotCodec.encodedSize(shoe));
+    SnapshotCodec.encode(shoe, buffer);
+    buffer.flip();
+    Shoe restored = SnapshotCodec.decodeShoe(buffer, new Random(5));
+    assertEquals(shoe, restored);
+    assertEquals(shoe.getReshuffleTrigger(), restored.getReshuffleTrigger());
+    assertTrue(restored.isLazyShuffle());
+    assertEquals(List.of(shoe.draw(200)), List.of(restored.draw(200)));
+    restored.start();
+    assertEquals(312, restored.size());
+  }
+
+  @Test
+  void shoeShuffleOnCreate() {
+    Shoe shoe = shoe(new Random(9), false);
+    ByteBuffer buffer = ByteBuffer.allocate(SnapshotCodec.encodedSize(shoe));
+    SnapshotCodec.encode(shoe, buffer);
+    buffer.flip();
+    Shoe restored = SnapshotCodec.decodeShoe(buffer, new Random(11));
+    assertTrue(restored.isShuffleOnCreate());
+    restored.reset();
+    List<Card> cards = List.of(restored.draw(restored.size()));
+    List<Card> sorted = new ArrayList<>(cards);
+    sorted.sort(null);
+    assertNotEquals(sorted, cards);
+  }
+
+  @Test
+  void file() throws IOException {
+    Path path = Files.createTempFile("snapshots", ".bin");
+    try {
+      Random rng = new Random(7);
+      List<Stock> originals = new ArrayList<>();
+      try (SnapshotCodec.Writer writer = new SnapshotCodec.Writer(
+          FileChannel.open(path, StandardOpenOption.WRITE))) {
+        for (int i = 0; i < 1_000; i++) {
+          Stock stock = (i % 2 == 0) ? shoe(rng, false) : new Deck();
+          stock.draw(rng.nextInt(stock.size()));
+          writer.write(stock);
+          originals.add(stock);
+        }
+      }
+      try (SnapshotCodec.Reader reader = new SnapshotCodec.Reader(
+          FileChannel.open(path, StandardOpenOption.READ))) {
+        for (Stock original : originals) {
+          Stock restored = reader.read(rng);
+          assertEquals(original.getClass(), restored.getClass());
+          assertEquals(original, restored);
+          assertEquals(original.getDrawn(), restored.getDrawn());
+        }
+        assertNull(reader.read(rng));
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void invalid() {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decode(buffer, null));
+    ByteBuffer deck = ByteBuffer.allocate(SnapshotCodec.encodedSize(new Deck()));
+    SnapshotCodec.encode(new Deck(), deck);
+    deck.flip();
+    assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decodeShoe(deck, null));
+    deck.put(deck.limit() - 1, (byte) Card.COUNT);
+    assertThrows(IllegalArgumentException.class, () -> SnapshotCodec.decodeDeck(deck));
+  }
+
+  private static Shoe shoe(Random rng, boolean lazy) {
+    List<Deck> decks = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      decks.add(new Deck());
+    }
+    return new Shoe.Builder(decks)
+        .randomSource(rng)
+        .reshuffleTrigger(78)
+        .lazyShuffle(lazy)
+        .shuffleOnCreate()
+        .build();
+  }
+
+}